@@ -0,0 +1,71 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.config.PasswordConfig;
+import com.example.resto_backend.config.PasswordHashingConfig;
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.model.LoginRequest;
+import com.example.resto_backend.repository.RestaurantRepository;
+import com.example.resto_backend.repository.UserRepository;
+import com.example.resto_backend.security.LoginRateLimiter;
+import com.example.resto_backend.service.AuthService;
+import com.example.resto_backend.service.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures {@link AuthService#authenticate} with the configured password encoder,
+ * which is dominated by the BCrypt comparison on the hashing pool. The repository is mocked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    private ThreadPoolExecutor executor;
+    private AuthService authService;
+    private LoginRequest request;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = new PasswordConfig().passwordEncoder("bcrypt", 10, 0, 10);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark-user");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+
+        executor = new PasswordHashingConfig().passwordHashingExecutor(0, 64);
+        PasswordHashingService passwordHashingService = new PasswordHashingService(passwordEncoder, executor, 5_000);
+
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(false, 1, 1, 1, 1, 1, new SimpleMeterRegistry());
+        authService = new AuthService(userRepository, mock(RestaurantRepository.class), passwordHashingService,
+                loginRateLimiter, new SimpleMeterRegistry());
+        request = new LoginRequest(user.getUsername(), PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public User authenticate() throws Exception {
+        return authService.authenticate(request);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.jwt.JwtUtil;
+
+/**
+ * Shared setup for the benchmarks, mirroring the values in application.yml.
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "THIS_IS_A_VERY_LONG_AND_SECURE_SECRET_KEY_AT_LEAST_256_BITS_LONG";
+    static final long ACCESS_TOKEN_EXPIRATION_MS = 900_000;
+    static final long REFRESH_TOKEN_EXPIRATION_MS = 604_800_000;
+
+    static final AuthenticatedUser PRINCIPAL = new AuthenticatedUser("benchmark-user", 1L, Role.OWNER);
+
+    /**
+     * Keeps SQL and startup logging out of the measured output.
+     */
+    static final String[] QUIET_PROPERTIES = {
+            "spring.jpa.show-sql=false",
+            "spring.main.banner-mode=off",
+            "logging.level.root=WARN"
+    };
+
+    private BenchmarkFixtures() {}
+
+    static JwtUtil jwtUtil() {
+        return new JwtUtil(JWT_SECRET, ACCESS_TOKEN_EXPIRATION_MS, REFRESH_TOKEN_EXPIRATION_MS);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.security.SecurityConstants;
+import com.example.resto_backend.security.jwt.JwtAuthFilter;
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.security.jwt.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@link JwtAuthFilter} with mock requests, once with a warm verified-token
+ * cache and once with caching disabled so every request pays for verification.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthFilter cachingFilter;
+    private JwtAuthFilter uncachedFilter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil();
+        cachingFilter = new JwtAuthFilter(jwtUtil, new VerifiedTokenCache(10_000), new SimpleMeterRegistry());
+        uncachedFilter = new JwtAuthFilter(jwtUtil, new VerifiedTokenCache(0), new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/v1/restaurant");
+        request.addHeader(SecurityConstants.AUTH_HEADER,
+                SecurityConstants.BEARER_PREFIX + jwtUtil.generateAccessToken(BenchmarkFixtures.PRINCIPAL));
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachedToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cachingFilter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse uncachedToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        uncachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+}
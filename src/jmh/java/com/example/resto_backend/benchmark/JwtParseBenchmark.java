@@ -0,0 +1,50 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.security.jwt.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former per-call parser construction (validate, then extract again)
+ * with the shared parser and single {@link JwtUtil#parse} call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParseBenchmark {
+
+    private SecretKey key;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(BenchmarkFixtures.JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        token = jwtUtil.generateAccessToken(BenchmarkFixtures.PRINCIPAL);
+    }
+
+    @Benchmark
+    public String perCallParserValidateThenExtract() {
+        Claims validated = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        if (validated == null) {
+            return null;
+        }
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public TokenClaims sharedParserSingleParse() {
+        return jwtUtil.parse(token, false);
+    }
+}
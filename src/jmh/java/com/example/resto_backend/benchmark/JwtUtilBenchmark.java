@@ -0,0 +1,35 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.security.jwt.TokenClaims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        token = jwtUtil.generateAccessToken(BenchmarkFixtures.PRINCIPAL);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken(BenchmarkFixtures.PRINCIPAL);
+    }
+
+    @Benchmark
+    public TokenClaims parse() {
+        return jwtUtil.parse(token, false);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.RestoBackendApplication;
+import com.example.resto_backend.entity.Restaurant;
+import com.example.resto_backend.model.MenuCategoryRequest;
+import com.example.resto_backend.model.MenuItemRequest;
+import com.example.resto_backend.model.OrderView;
+import com.example.resto_backend.model.PlaceOrderRequest;
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.repository.RestaurantRepository;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.service.MenuService;
+import com.example.resto_backend.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end kitchen ticket latency under load: many concurrent orders spread across many
+ * tenants, each timed from submission until its ticket is read by the station's display.
+ * The path covers the intake queue, the group-committed insert, routing into the station
+ * queue, the SSE fan-out and the socket to a real HTTP client (one stream per tenant and
+ * station). Orders are submitted in-process, so the HTTP cost of the POST is not included.
+ * <p>
+ * SampleTime reports the latency distribution (p50, p99, p99.9). Concurrency is set by
+ * {@code @Threads}; override with e.g. {@code -Djmh.args="KitchenTicketLatency -t 2000"}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(1000)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KitchenTicketLatencyBenchmark {
+
+    private static final String[] STATIONS = {"grill", "bar", "cold"};
+    private static final Pattern ORDER_ID = Pattern.compile("\"order_id\":(\\d+)");
+
+    @Param("200")
+    public int tenants;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private HttpClient httpClient;
+
+    private final List<Tenant> tenantList = new ArrayList<>();
+    private final Map<Long, CompletableFuture<Void>> arrivals = new ConcurrentHashMap<>();
+
+    private record Tenant(AuthenticatedUser owner, Long[] menuItemIds) {
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(RestoBackendApplication.class)
+                .properties(BenchmarkFixtures.QUIET_PROPERTIES)
+                .properties("server.port=0", "sse.max-subscribers=100000", "kitchen.max-pending-per-station=100000")
+                .run();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        RestaurantRepository restaurantRepository = context.getBean(RestaurantRepository.class);
+        MenuService menuService = context.getBean(MenuService.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        orderService = context.getBean(OrderService.class);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        for (int i = 0; i < tenants; i++) {
+            Restaurant restaurant = restaurantRepository.save(
+                    new Restaurant(null, "Restaurant " + i, "owner" + i, LocalDateTime.now()));
+            AuthenticatedUser owner = new AuthenticatedUser("owner" + i, restaurant.getId(), Role.OWNER);
+
+            Long categoryId = menuService.createCategory(owner.restaurantId(), new MenuCategoryRequest("Menu", 0)).id();
+            Long[] menuItemIds = new Long[STATIONS.length];
+            for (int s = 0; s < STATIONS.length; s++) {
+                menuItemIds[s] = menuService.createItem(owner.restaurantId(), new MenuItemRequest(
+                        categoryId, STATIONS[s] + " item", null, BigDecimal.TEN, true, STATIONS[s], s)).id();
+            }
+            tenantList.add(new Tenant(owner, menuItemIds));
+
+            String accessToken = jwtUtil.generateAccessToken(owner);
+            for (String station : STATIONS) {
+                subscribe(port, accessToken, station);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderView orderToDisplay() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Tenant tenant = tenantList.get(random.nextInt(tenantList.size()));
+        Long menuItemId = tenant.menuItemIds()[random.nextInt(STATIONS.length)];
+
+        OrderView order = orderService.place(tenant.owner(), null,
+                new PlaceOrderRequest(List.of(new PlaceOrderRequest.Line(menuItemId, 1)), null)).order();
+
+        // The ticket may arrive before place() returns; both sides go through computeIfAbsent
+        arrivals.computeIfAbsent(order.id(), id -> new CompletableFuture<>()).get(10, TimeUnit.SECONDS);
+        arrivals.remove(order.id());
+        return order;
+    }
+
+    private void subscribe(int port, String accessToken, String station) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/kitchen/stations/" + station + "/stream"))
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Accept", "text/event-stream")
+                .build();
+
+        CompletableFuture<Void> connected = new CompletableFuture<>();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new TicketReader(connected)));
+        connected.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Completes the arrival of every order named in a "ticket" event
+     */
+    private final class TicketReader implements Flow.Subscriber<String> {
+
+        private final CompletableFuture<Void> connected;
+        private boolean ticketEvent;
+
+        private TicketReader(CompletableFuture<Void> connected) {
+            this.connected = connected;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                ticketEvent = line.equals("event:ticket");
+                connected.complete(null);
+            } else if (ticketEvent && line.startsWith("data:")) {
+                Matcher matcher = ORDER_ID.matcher(line);
+                if (matcher.find()) {
+                    arrivals.computeIfAbsent(Long.valueOf(matcher.group(1)), id -> new CompletableFuture<>())
+                            .complete(null);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            connected.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.exception.ProblemResponseWriter;
+import com.example.resto_backend.exception.ProblemResponseWriter.Problem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one 401 body: the pre-encoded template against the previous String.formatted
+ * text block and against serializing a ProblemDetail, as the exception handlers did.
+ * Run with {@code -prof gc} to compare allocation per response.
+ * <p>
+ * Bodies go to a discarding stream: MockHttpServletResponse's own output stream costs
+ * about 10 µs per write and would hide the differences. The writer is reused across
+ * responses, as Tomcat does, so its encoder is not counted as per-request allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProblemResponseBenchmark {
+
+    private static final String INSTANCE = "/api/v1/restaurant";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ServletOutputStream stream;
+    private PrintWriter writer;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        stream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+        writer = new PrintWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+
+    private HttpServletResponse response() {
+        return new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return stream;
+            }
+
+            @Override
+            public PrintWriter getWriter() {
+                return writer;
+            }
+        };
+    }
+
+    @Benchmark
+    public HttpServletResponse template() throws Exception {
+        HttpServletResponse response = response();
+        ProblemResponseWriter.write(response, Problem.AUTHENTICATION_REQUIRED, INSTANCE);
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse formattedTextBlock() throws Exception {
+        HttpServletResponse response = response();
+        response.setStatus(401);
+        response.setContentType("application/json");
+        response.getWriter().write("""
+                {
+                  "type": "https://api.example.com/problems/authentication-required",
+                  "title": "%s",
+                  "status": %s,
+                  "detail": "%s",
+                  "instance": "%s"
+                }
+            """
+                .formatted("Unauthorized", 401, "Authentication is required", INSTANCE));
+        response.getWriter().flush();
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse problemDetail() throws Exception {
+        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.UNAUTHORIZED);
+        problem.setTitle("Unauthorized");
+        problem.setDetail("Authentication is required");
+        problem.setInstance(URI.create(INSTANCE));
+        problem.setType(URI.create(ProblemResponseWriter.TYPE_BASE + "/authentication-required"));
+
+        HttpServletResponse response = response();
+        response.setStatus(401);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+        return response;
+    }
+}
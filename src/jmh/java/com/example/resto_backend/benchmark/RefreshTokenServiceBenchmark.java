@@ -0,0 +1,71 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.RestoBackendApplication;
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.model.RegisterRequest;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.service.AuthService;
+import com.example.resto_backend.service.RefreshTokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RefreshTokenService#rotate}, the store call behind every refresh, with each
+ * {@code refresh-token.store} in a non-web Spring context on the application's H2 database.
+ * The token swaps back and forth between two values so the session stays valid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RefreshTokenServiceBenchmark {
+
+    @Param({"jpa", "memory"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private RefreshTokenService refreshTokenService;
+    private String username;
+    private String currentToken;
+    private String nextToken;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RestoBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(BenchmarkFixtures.QUIET_PROPERTIES)
+                .properties("refresh-token.store=" + store)
+                .run();
+
+        User user = context.getBean(AuthService.class).register(new RegisterRequest(
+                "benchmark-user", "benchmark-password", "benchmark-password", "benchmark@gmail.com"));
+
+        username = user.getUsername();
+        currentToken = context.getBean(JwtUtil.class).generateRefreshToken(AuthenticatedUser.of(user));
+        nextToken = currentToken + "-next";
+        refreshTokenService = context.getBean(RefreshTokenService.class);
+        refreshTokenService.create(user, "benchmark-device", currentToken);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean rotate() {
+        boolean rotated = refreshTokenService.rotate(username, currentToken, nextToken);
+
+        String previous = currentToken;
+        currentToken = nextToken;
+        nextToken = previous;
+        return rotated;
+    }
+}
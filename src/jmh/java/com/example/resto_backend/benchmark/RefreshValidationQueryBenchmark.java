@@ -0,0 +1,103 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.RestoBackendApplication;
+import com.example.resto_backend.entity.RefreshToken;
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.model.RegisterRequest;
+import com.example.resto_backend.repository.RefreshTokenRepository;
+import com.example.resto_backend.security.TokenDigest;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.service.AuthService;
+import com.example.resto_backend.service.RefreshTokenService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former refresh validation (load the token entity, then its user) with the
+ * single projection query. JDBC statements and operations are reported as auxiliary counters
+ * (statements / operations = queries per refresh); run with {@code -prof gc} to compare allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RefreshValidationQueryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private RefreshTokenRepository refreshTokenRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private Statistics statistics;
+    private String username;
+    private byte[] tokenHash;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long operations;
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RestoBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(BenchmarkFixtures.QUIET_PROPERTIES)
+                .properties("refresh-token.store=jpa", "spring.jpa.properties.hibernate.generate_statistics=true")
+                .run();
+
+        User user = context.getBean(AuthService.class).register(new RegisterRequest(
+                "benchmark-user", "benchmark-password", "benchmark-password", "benchmark@gmail.com"));
+        String refreshToken = context.getBean(JwtUtil.class).generateRefreshToken(AuthenticatedUser.of(user));
+        context.getBean(RefreshTokenService.class).create(user, "benchmark-device", refreshToken);
+
+        username = user.getUsername();
+        tokenHash = TokenDigest.sha256(refreshToken);
+        refreshTokenRepository = context.getBean(RefreshTokenRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Boolean entityLoad(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        Boolean valid = readOnlyTransaction.execute(status -> {
+            Optional<RefreshToken> refreshToken = refreshTokenRepository.findByTokenHash(tokenHash);
+            return refreshToken.isPresent()
+                    && refreshToken.get().getUser().getUsername().equals(username)
+                    && refreshToken.get().getExpiryDate().isAfter(Instant.now());
+        });
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        counter.operations++;
+        return valid;
+    }
+
+    @Benchmark
+    public Boolean projectionQuery(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        Boolean valid = readOnlyTransaction.execute(status ->
+                refreshTokenRepository.existsValid(tokenHash, username, Instant.now()));
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        counter.operations++;
+        return valid;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.resto_backend.benchmark;
+
+import com.example.resto_backend.RestoBackendApplication;
+import com.example.resto_backend.entity.Restaurant;
+import com.example.resto_backend.model.MenuCategoryRequest;
+import com.example.resto_backend.model.MenuItemRequest;
+import com.example.resto_backend.model.PlaceOrderRequest;
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.repository.RestaurantRepository;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.service.MenuService;
+import com.example.resto_backend.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread Tomcat pool against virtual threads at high concurrency. Each operation
+ * is an authenticated HTTP request for a page of order history, so the time is spent in
+ * the security filter and in blocking JDBC calls through the connection pool.
+ * <p>
+ * Throughput mode gives requests per second, SampleTime the latency distribution (p99).
+ * The virtual mode needs a Java 21 runtime:
+ * {@code mvn -Pbenchmark,java21 test-compile exec:exec -Djmh.args="ThreadingMode"}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(1000)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadingModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest historyRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        boolean virtual = threads.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime, build with -Pjava21");
+        }
+
+        context = new SpringApplicationBuilder(RestoBackendApplication.class)
+                .properties(BenchmarkFixtures.QUIET_PROPERTIES)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtual)
+                .run();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        Restaurant restaurant = context.getBean(RestaurantRepository.class).save(
+                new Restaurant(null, "Benchmark", "benchmark-user", LocalDateTime.now()));
+        AuthenticatedUser owner = new AuthenticatedUser("benchmark-user", restaurant.getId(), Role.OWNER);
+
+        MenuService menuService = context.getBean(MenuService.class);
+        Long categoryId = menuService.createCategory(owner.restaurantId(), new MenuCategoryRequest("Menu", 0)).id();
+        Long menuItemId = menuService.createItem(owner.restaurantId(), new MenuItemRequest(
+                categoryId, "Item", null, BigDecimal.TEN, true, null, 0)).id();
+
+        OrderService orderService = context.getBean(OrderService.class);
+        for (int i = 0; i < 200; i++) {
+            orderService.place(owner, null,
+                    new PlaceOrderRequest(List.of(new PlaceOrderRequest.Line(menuItemId, 1)), null));
+        }
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        historyRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/orders?limit=20"))
+                .header("Authorization", "Bearer " + context.getBean(JwtUtil.class).generateAccessToken(owner))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int orderHistory() throws Exception {
+        HttpResponse<Void> response = httpClient.send(historyRequest, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -1,15 +1,80 @@
 package com.example.resto_backend.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 public class PasswordConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(PasswordConfig.class);
+
+    static final String BCRYPT = "bcrypt";
+    static final String PBKDF2 = "pbkdf2";
+
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
+    /**
+     * Delegating encoder: new hashes are written as {@code {id}hash} with the configured
+     * scheme and cost, while older hashes (including the original prefix-less BCrypt ones)
+     * still verify and are reported by {@link PasswordEncoder#upgradeEncoding} for re-hashing.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${password-hashing.encoder:bcrypt}") String encoderId,
+            @Value("${password-hashing.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${password-hashing.latency-budget-ms:0}") long latencyBudgetMs,
+            @Value("${password-hashing.min-bcrypt-strength:10}") int minBcryptStrength) {
+
+        int strength = latencyBudgetMs > 0
+                ? calibrateBcryptStrength(latencyBudgetMs, minBcryptStrength)
+                : bcryptStrength;
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(strength));
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalArgumentException("Unsupported password-hashing.encoder: " + encoderId);
+        }
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        log.info("Password hashing uses '{}' (bcrypt strength {})", encoderId, strength);
+        return passwordEncoder;
+    }
+
+    /**
+     * Picks the highest BCrypt cost whose hash time fits the latency budget on this machine,
+     * never going below {@code minStrength}. Each cost step doubles the work.
+     */
+    static int calibrateBcryptStrength(long latencyBudgetMs, int minStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration"); // warm up
+
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        int strength = minStrength;
+        while (strength < MAX_BCRYPT_STRENGTH && elapsedMs * 2 <= latencyBudgetMs) {
+            strength++;
+            elapsedMs *= 2;
+        }
+
+        log.info("Calibrated bcrypt strength {} (~{} ms per hash, budget {} ms)",
+                strength, Math.round(elapsedMs), latencyBudgetMs);
+        return strength;
     }
 }
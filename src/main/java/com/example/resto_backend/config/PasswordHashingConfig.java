@@ -0,0 +1,35 @@
+package com.example.resto_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Dedicated pool for CPU-heavy password hashing, so login storms cannot occupy
+     * every request thread. Work beyond the queue capacity is rejected immediately.
+     */
+    @Bean
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${password-hashing.pool-size:0}") int poolSize,
+            @Value("${password-hashing.queue-capacity:64}") int queueCapacity) {
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
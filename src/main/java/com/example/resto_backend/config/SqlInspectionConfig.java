@@ -0,0 +1,36 @@
+package com.example.resto_backend.config;
+
+import com.example.resto_backend.service.StatementStatistics;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source so every JDBC execution reports to {@link StatementStatistics}.
+ * Replaces spring.jpa.show-sql, which printed every statement synchronously on the request thread.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sql-inspection", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInspectionConfig {
+
+    @Bean
+    public static BeanPostProcessor inspectingDataSourcePostProcessor(ObjectProvider<StatementStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(statistics.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
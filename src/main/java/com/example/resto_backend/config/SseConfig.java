@@ -0,0 +1,41 @@
+package com.example.resto_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SseConfig {
+
+    /**
+     * Small pools, one per hub, that write queued events to SSE connections. Publishers only
+     * enqueue, so a slow client never stalls a request. A client that stops reading blocks a
+     * sender thread until the write times out; the hub evicts it and lends its pool a thread
+     * meanwhile, and separate pools keep menu streams from stalling kitchen displays.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor menuSseSenderExecutor(@Value("${sse.sender-threads:4}") int threads) {
+        return senderPool(threads, "sse-menu-");
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor kitchenSseSenderExecutor(@Value("${sse.sender-threads:4}") int threads) {
+        return senderPool(threads, "sse-kitchen-");
+    }
+
+    private static ThreadPoolExecutor senderPool(int threads, String threadNamePrefix) {
+        // Threads lent for stalled writes are reclaimed once they go idle
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory(threadNamePrefix)
+        );
+    }
+}
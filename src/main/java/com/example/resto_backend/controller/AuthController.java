@@ -4,12 +4,17 @@ import com.example.resto_backend.model.LoginResponse;
 import com.example.resto_backend.model.LoginRequest;
 import com.example.resto_backend.model.RegisterRequest;
 import com.example.resto_backend.entity.User;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.DeviceIds;
 import com.example.resto_backend.security.SecurityConstants;
 import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.security.jwt.TokenClaims;
+import com.example.resto_backend.security.jwt.TokenType;
 import com.example.resto_backend.service.AuthService;
 import com.example.resto_backend.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -32,12 +37,14 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(
             @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest,
             HttpServletResponse response) throws Exception {
         User user = authService.authenticate(request);
-        String accessToken = jwtUtil.generateAccessToken(user.getUsername());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
+        AuthenticatedUser principal = AuthenticatedUser.of(user);
+        String accessToken = jwtUtil.generateAccessToken(principal);
+        String refreshToken = jwtUtil.generateRefreshToken(principal);
 
-        refreshTokenService.create(user, refreshToken);
+        refreshTokenService.create(user, DeviceIds.resolve(httpRequest, response), refreshToken);
 
         return ResponseEntity.ok(
                 new LoginResponse(accessToken, "")
@@ -65,19 +72,32 @@ public class AuthController {
             return ResponseEntity.status(401).build();
         }
 
-        String username = jwtUtil.extractUsername(refreshToken, true);
+        TokenClaims claims = jwtUtil.parse(refreshToken, true);
+        if (!claims.hasIdentityClaims() || !claims.isType(TokenType.REFRESH)) {
+            return ResponseEntity.status(401).build();
+        }
+
+        // Tenant and role are carried over from the refresh token, no user lookup needed
+        AuthenticatedUser principal = claims.principal();
+        String newRefreshToken = jwtUtil.generateRefreshToken(principal);
 
-        if (!refreshTokenService.validate(username, refreshToken)) {
+        // Validates the old token and rotates it in one step
+        if (!refreshTokenService.rotate(principal.username(), refreshToken, newRefreshToken)) {
             return ResponseEntity.status(401).build();
         }
 
-        String newAccessToken = jwtUtil.generateAccessToken(username);
+        String newAccessToken = jwtUtil.generateAccessToken(principal);
 
         Cookie accessCookie = new Cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, newAccessToken);
         accessCookie.setHttpOnly(true);
         accessCookie.setPath(SecurityConstants.COOKIE_PATH);
         response.addCookie(accessCookie);
 
+        Cookie refreshCookie = new Cookie(SecurityConstants.REFRESH_TOKEN_COOKIE, newRefreshToken);
+        refreshCookie.setHttpOnly(true);
+        refreshCookie.setPath(SecurityConstants.COOKIE_PATH);
+        response.addCookie(refreshCookie);
+
         return ResponseEntity.ok(
                 new LoginResponse(newAccessToken, "")
         );
@@ -92,8 +112,7 @@ public class AuthController {
             HttpServletResponse response) {
 
         if (refreshToken != null) {
-            String username = jwtUtil.extractUsername(refreshToken, true);
-            refreshTokenService.deleteByUsername(username); // safer method
+            refreshTokenService.revoke(refreshToken); // ends this device's session only
         }
 
         // Clear cookies
@@ -3,14 +3,23 @@ package com.example.resto_backend.controller;
 import com.example.resto_backend.model.LoginRequest;
 import com.example.resto_backend.model.RegisterRequest;
 import com.example.resto_backend.entity.User;
+import com.example.resto_backend.exception.ConstraintConflicts;
+import com.example.resto_backend.exception.ServiceBusyException;
+import com.example.resto_backend.exception.TooManyLoginAttemptsException;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.DeviceIds;
+import com.example.resto_backend.security.LoginRateLimitFilter;
 import com.example.resto_backend.security.SecurityConstants;
 import com.example.resto_backend.security.jwt.JwtUtil;
 import com.example.resto_backend.service.AuthService;
 import com.example.resto_backend.service.RefreshTokenService;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -32,6 +41,7 @@ public class AuthPageController {
     private static final String REDIRECT_TO_REGISTER_PAGE = REDIRECT_TO + REGISTER_PAGE;
     private static final String REDIRECT_TO_SWAGGER_PAGE = REDIRECT_TO + SWAGGER_PAGE;
 
+    private static final String BUSY_REQUEST_ATTRIBUTE = "busy";
     private static final String ERROR_REQUEST_ATTRIBUTE = "error";
     private static final String LOGIN_REQUEST_ATTRIBUTE = "loginRequest";
     private static final String REGISTER_REQUEST_ATTRIBUTE = "registerRequest";
@@ -76,13 +86,19 @@ public class AuthPageController {
     @PostMapping("/login")
     public String login(@ModelAttribute(LOGIN_REQUEST_ATTRIBUTE) LoginRequest req,
                         Model model,
+                        HttpServletRequest request,
                         HttpServletResponse response) {
+        if (request.getAttribute(LoginRateLimitFilter.RETRY_AFTER_ATTRIBUTE) instanceof Long retryAfter) {
+            return tooManyAttempts(retryAfter, model, response);
+        }
+
         try {
             User user = authService.authenticate(new LoginRequest(req.username, req.password));
-            String accessToken = jwtUtil.generateAccessToken(user.getUsername());
-            String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
+            AuthenticatedUser principal = AuthenticatedUser.of(user);
+            String accessToken = jwtUtil.generateAccessToken(principal);
+            String refreshToken = jwtUtil.generateRefreshToken(principal);
 
-            refreshTokenService.create(user, refreshToken);
+            refreshTokenService.create(user, DeviceIds.resolve(request, response), refreshToken);
 
             Cookie accessCookie = new Cookie(SecurityConstants.ACCESS_TOKEN_COOKIE, accessToken);
             accessCookie.setHttpOnly(true);
@@ -95,12 +111,28 @@ public class AuthPageController {
             response.addCookie(refreshCookie);
 
             return REDIRECT_TO_SWAGGER_PAGE;
+        } catch (ServiceBusyException e) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            model.addAttribute(BUSY_REQUEST_ATTRIBUTE, true);
+            return LOGIN_PAGE;
+        } catch (TooManyLoginAttemptsException e) {
+            return tooManyAttempts(e.getRetryAfterSeconds(), model, response);
         } catch (Exception e) {
             model.addAttribute(ERROR_REQUEST_ATTRIBUTE, true);
             return LOGIN_PAGE;
         }
     }
 
+    /**
+     * Same page for the per-client and the per-username limit
+     */
+    private String tooManyAttempts(long retryAfterSeconds, Model model, HttpServletResponse response) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        model.addAttribute(BUSY_REQUEST_ATTRIBUTE, true);
+        return LOGIN_PAGE;
+    }
+
     /**
      * Handle Web Register
      */
@@ -123,7 +155,8 @@ public class AuthPageController {
             model.addAttribute(ERROR_REQUEST_ATTRIBUTE, "Registration failed: " + e.getMessage());
             return REGISTER_PAGE;
         } catch (DataIntegrityViolationException dve) {
-            model.addAttribute(ERROR_REQUEST_ATTRIBUTE, "Registration failed: " + "Username or email already exists");
+            model.addAttribute(ERROR_REQUEST_ATTRIBUTE, "Registration failed: "
+                    + ConstraintConflicts.duplicateDetail(dve).orElse(ConstraintConflicts.GENERIC_DETAIL));
             return REGISTER_PAGE;
         }
     }
@@ -0,0 +1,58 @@
+package com.example.resto_backend.controller;
+
+import com.example.resto_backend.exception.ResourceNotFoundException;
+import com.example.resto_backend.model.KitchenTicket;
+import com.example.resto_backend.model.Station;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.service.KitchenTicketRouter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Tag(name = "Kitchen", description = "Ticket feeds for kitchen displays")
+@RestController
+@RequestMapping("/api/v1/kitchen/stations/{station}")
+public class KitchenController {
+
+    private final KitchenTicketRouter kitchenTicketRouter;
+
+    public KitchenController(KitchenTicketRouter kitchenTicketRouter) {
+        this.kitchenTicketRouter = kitchenTicketRouter;
+    }
+
+    @GetMapping("/tickets")
+    public List<KitchenTicket> pendingTickets(@PathVariable String station,
+                                              @AuthenticationPrincipal AuthenticatedUser user) {
+        return kitchenTicketRouter.pending(user.restaurantId(), Station.normalize(station));
+    }
+
+    /**
+     * Server-sent events: "tickets" with the pending tickets, then "ticket" and "acknowledged"
+     */
+    @Operation(summary = "Stream the tickets of one kitchen station")
+    @GetMapping("/stream")
+    public SseEmitter streamTickets(@PathVariable String station,
+                                    @AuthenticationPrincipal AuthenticatedUser user) {
+        return kitchenTicketRouter.subscribe(user.restaurantId(), Station.normalize(station));
+    }
+
+    @PostMapping("/tickets/{ticketId}/ack")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void acknowledge(@PathVariable String station,
+                            @PathVariable Long ticketId,
+                            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (!kitchenTicketRouter.acknowledge(user.restaurantId(), Station.normalize(station), ticketId)) {
+            throw new ResourceNotFoundException("Ticket not found");
+        }
+    }
+}
@@ -1,19 +1,131 @@
 package com.example.resto_backend.controller;
 
+import com.example.resto_backend.model.AvailabilityRequest;
+import com.example.resto_backend.model.MenuCategoryRequest;
+import com.example.resto_backend.model.MenuItemRequest;
+import com.example.resto_backend.model.MenuView;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.service.MenuChangeStream;
+import com.example.resto_backend.service.MenuService;
+import com.example.resto_backend.service.MenuSnapshotCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Menu", description = "Operations related to menu management")
 @RestController
 @RequestMapping("/api/v1/menu")
 public class MenuController {
 
+    private final MenuService menuService;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuChangeStream menuChangeStream;
+
+    public MenuController(MenuService menuService,
+                          MenuSnapshotCache menuSnapshotCache,
+                          MenuChangeStream menuChangeStream) {
+        this.menuService = menuService;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.menuChangeStream = menuChangeStream;
+    }
+
+    /**
+     * Served from the pre-serialized snapshot, no query or serialization per request.
+     * A matching If-None-Match is answered with 304 from the snapshot's tag, so a stale
+     * snapshot is refreshed before it can confirm a client's copy.
+     */
+    @Operation(summary = "Get the menu of the caller's restaurant")
     @GetMapping
-    public String getMenu() {
-        return "getMenu()";
+    public ResponseEntity<byte[]> getMenu(@AuthenticationPrincipal AuthenticatedUser user, WebRequest request) {
+        MenuSnapshotCache.Snapshot snapshot = menuSnapshotCache.get(user.restaurantId());
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
+    /**
+     * Server-sent events with menu diffs, replacing polling. The first event, "ready",
+     * carries the current menu ETag as its id.
+     */
+    @Operation(summary = "Stream changes to the caller's menu")
+    @GetMapping("/stream")
+    public SseEmitter streamMenu(@AuthenticationPrincipal AuthenticatedUser user) {
+        return menuChangeStream.subscribe(user.restaurantId());
+    }
+
+    /* ===================== CATEGORIES (owner only, see SecurityConfig) ===================== */
+
+    @PostMapping("/categories")
+    @ResponseStatus(HttpStatus.CREATED)
+    public MenuView.Category createCategory(@RequestBody MenuCategoryRequest request,
+                                            @AuthenticationPrincipal AuthenticatedUser user) {
+        return menuService.createCategory(user.restaurantId(), request);
+    }
+
+    @PutMapping("/categories/{id}")
+    public MenuView.Category updateCategory(@PathVariable Long id,
+                                            @RequestBody MenuCategoryRequest request,
+                                            @AuthenticationPrincipal AuthenticatedUser user) {
+        return menuService.updateCategory(user.restaurantId(), id, request);
     }
 
+    @DeleteMapping("/categories/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteCategory(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        menuService.deleteCategory(user.restaurantId(), id);
+    }
+
+    /* ===================== ITEMS (owner only, see SecurityConfig) ===================== */
+
+    @PostMapping("/items")
+    @ResponseStatus(HttpStatus.CREATED)
+    public MenuView.Item createItem(@RequestBody MenuItemRequest request,
+                                    @AuthenticationPrincipal AuthenticatedUser user) {
+        return menuService.createItem(user.restaurantId(), request);
+    }
+
+    @PutMapping("/items/{id}")
+    public MenuView.Item updateItem(@PathVariable Long id,
+                                    @RequestBody MenuItemRequest request,
+                                    @AuthenticationPrincipal AuthenticatedUser user) {
+        return menuService.updateItem(user.restaurantId(), id, request);
+    }
+
+    @DeleteMapping("/items/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteItem(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser user) {
+        menuService.deleteItem(user.restaurantId(), id);
+    }
+
+    /**
+     * Any restaurant member may mark an item sold out or back in stock
+     */
+    @PatchMapping("/items/{id}/availability")
+    public MenuView.Item setAvailability(@PathVariable Long id,
+                                         @RequestBody AvailabilityRequest request,
+                                         @AuthenticationPrincipal AuthenticatedUser user) {
+        return menuService.setAvailability(user.restaurantId(), id, request.isAvailable());
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.resto_backend.controller;
+
+import com.example.resto_backend.model.CursorPage;
+import com.example.resto_backend.model.OrderView;
+import com.example.resto_backend.model.PlaceOrderRequest;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Tag(name = "Orders", description = "Operations related to orders")
+@RestController
+@RequestMapping("/api/v1/orders")
+public class OrderController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private final OrderService orderService;
+
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * Keyset-paginated history, newest first. Pass next_cursor back as cursor for the next page
+     */
+    @Operation(summary = "List the orders of the caller's restaurant")
+    @GetMapping
+    public CursorPage<Map<String, Object>> listOrders(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String fields,
+                                                      @AuthenticationPrincipal AuthenticatedUser user) {
+        return orderService.history(user.restaurantId(), cursor, limit, fields);
+    }
+
+    /**
+     * Retries with the same Idempotency-Key return the original order, marked Idempotent-Replayed
+     */
+    @Operation(summary = "Place an order at the caller's restaurant")
+    @PostMapping
+    public ResponseEntity<OrderView> placeOrder(@RequestBody PlaceOrderRequest request,
+                                                @RequestHeader(name = IDEMPOTENCY_KEY, required = false)
+                                                String idempotencyKey,
+                                                @AuthenticationPrincipal AuthenticatedUser user) {
+        OrderService.Placed placed = orderService.place(user, idempotencyKey, request);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (placed.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(placed.order());
+    }
+}
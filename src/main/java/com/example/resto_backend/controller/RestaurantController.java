@@ -1,34 +1,63 @@
 package com.example.resto_backend.controller;
 
 import com.example.resto_backend.entity.Restaurant;
-import com.example.resto_backend.entity.User;
-import com.example.resto_backend.repository.RestaurantRepository;
-import com.example.resto_backend.repository.UserRepository;
+import com.example.resto_backend.model.UpdateRestaurantRequest;
+import com.example.resto_backend.service.ResourceVersions;
+import com.example.resto_backend.service.RestaurantService;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
+import com.example.resto_backend.security.AuthenticatedUser;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Restaurant", description = "Operations related to restaurant management")
 @RestController
 @RequestMapping("/api/v1/restaurant")
 public class RestaurantController {
 
-    private final RestaurantRepository restaurantRepository;
+    private final RestaurantService restaurantService;
+    private final ResourceVersions resourceVersions;
 
-    public RestaurantController(RestaurantRepository restaurantRepository) {
-        this.restaurantRepository = restaurantRepository;
+    public RestaurantController(RestaurantService restaurantService, ResourceVersions resourceVersions) {
+        this.restaurantService = restaurantService;
+        this.resourceVersions = resourceVersions;
     }
 
+    /**
+     * The lookup is a local cache hit, and it lets an entry past its TTL pick up
+     * changes made through other instances before the ETag is compared
+     */
     @GetMapping
-    public Restaurant getMyRestaurant(Authentication authentication) {
+    public ResponseEntity<Restaurant> getMyRestaurant(@AuthenticationPrincipal AuthenticatedUser user,
+                                                      WebRequest request) {
+        RestaurantService.Tagged tagged = restaurantService
+                .findTagged(user.restaurantId())
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        if (request.checkNotModified(tagged.etag())) {
+            return null;
+        }
 
-        String username = authentication.getName();
+        return ResponseEntity.ok()
+                .eTag(tagged.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(tagged.restaurant());
+    }
 
-        return restaurantRepository
-                .findByOwner(username)
-                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+    /**
+     * Owner only, see SecurityConfig
+     */
+    @PutMapping
+    public ResponseEntity<Restaurant> updateMyRestaurant(@RequestBody UpdateRestaurantRequest request,
+                                                         @AuthenticationPrincipal AuthenticatedUser user) {
+        Restaurant restaurant = restaurantService.update(user.restaurantId(), request);
+        return ResponseEntity.ok()
+                .eTag(resourceVersions.etag(ResourceVersions.Resource.RESTAURANT, user.restaurantId()))
+                .body(restaurant);
     }
 }
@@ -0,0 +1,39 @@
+package com.example.resto_backend.controller;
+
+import com.example.resto_backend.service.StatementStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/sqlstatements?limit=20} lists the statements with the highest total
+ * time; {@code DELETE} resets the counters. Secured with the other actuator endpoints.
+ */
+@Component
+@Endpoint(id = "sqlstatements")
+public class SqlStatementsEndpoint {
+
+    public record Report(double droppedLogEntries, List<StatementStatistics.Summary> statements) {
+    }
+
+    private final StatementStatistics statementStatistics;
+
+    public SqlStatementsEndpoint(StatementStatistics statementStatistics) {
+        this.statementStatistics = statementStatistics;
+    }
+
+    @ReadOperation
+    public Report statements(@Nullable Integer limit) {
+        return new Report(statementStatistics.droppedLogEntries(),
+                statementStatistics.summaries(limit != null ? limit : 50));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statementStatistics.reset();
+    }
+}
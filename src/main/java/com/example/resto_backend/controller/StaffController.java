@@ -0,0 +1,71 @@
+package com.example.resto_backend.controller;
+
+import com.example.resto_backend.model.CursorPage;
+import com.example.resto_backend.model.StaffRequest;
+import com.example.resto_backend.model.StaffView;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.service.StaffService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Owner only, see SecurityConfig
+ */
+@Tag(name = "Staff", description = "Operations related to staff management")
+@RestController
+@RequestMapping("/api/v1/staff")
+public class StaffController {
+
+    private final StaffService staffService;
+
+    public StaffController(StaffService staffService) {
+        this.staffService = staffService;
+    }
+
+    @GetMapping
+    public CursorPage<Map<String, Object>> listStaff(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String fields,
+                                                     @AuthenticationPrincipal AuthenticatedUser user) {
+        return staffService.list(user.restaurantId(), cursor, limit, fields);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public StaffView createStaff(@RequestBody StaffRequest request,
+                                 @AuthenticationPrincipal AuthenticatedUser user) {
+        return staffService.create(user.restaurantId(), request);
+    }
+
+    /**
+     * All rows are created or none; errors name the offending row
+     */
+    @Operation(summary = "Import staff from a JSON array")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<StaffView> importStaff(@RequestBody List<StaffRequest> requests,
+                                       @AuthenticationPrincipal AuthenticatedUser user) {
+        return staffService.importStaff(user.restaurantId(), requests);
+    }
+
+    @Operation(summary = "Import staff from CSV with header username,password,email")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<StaffView> importStaffCsv(@RequestBody String csv,
+                                          @AuthenticationPrincipal AuthenticatedUser user) {
+        return staffService.importCsv(user.restaurantId(), csv);
+    }
+}
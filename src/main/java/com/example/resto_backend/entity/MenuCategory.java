@@ -0,0 +1,30 @@
+package com.example.resto_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "menu_categories", indexes = {
+        @Index(name = "idx_menu_categories_restaurant", columnList = "restaurant_id")
+})
+public class MenuCategory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", nullable = false)
+    private Restaurant restaurant;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private int sortOrder;
+}
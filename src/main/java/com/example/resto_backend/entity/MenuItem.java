@@ -0,0 +1,52 @@
+package com.example.resto_backend.entity;
+
+import com.example.resto_backend.model.Station;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "menu_items", indexes = {
+        @Index(name = "idx_menu_items_restaurant", columnList = "restaurant_id"),
+        @Index(name = "idx_menu_items_category", columnList = "category_id")
+})
+public class MenuItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", nullable = false)
+    private Restaurant restaurant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private MenuCategory category;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String description;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private boolean available = true;
+
+    /**
+     * Kitchen station that prepares this item, see {@link Station}
+     */
+    @Column(nullable = false, length = 32)
+    private String station = Station.DEFAULT;
+
+    @Column(nullable = false)
+    private int sortOrder;
+}
@@ -0,0 +1,70 @@
+package com.example.resto_backend.entity;
+
+import com.example.resto_backend.model.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An order placed at a restaurant. Pooled sequence ids let a whole intake batch
+ * be inserted with JDBC batching.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "orders",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_orders_restaurant_idempotency_key",
+                        columnNames = {"restaurant_id", "idempotency_key"})
+        },
+        indexes = {
+                @Index(name = "idx_orders_restaurant_created", columnList = "restaurant_id, created_at, id")
+        })
+public class Order {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", nullable = false)
+    private Restaurant restaurant;
+
+    /**
+     * Client-chosen key; a retried submission with the same key returns this order
+     */
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status = OrderStatus.PLACED;
+
+    @Column(nullable = false, length = 50)
+    private String placedBy;
+
+    private String note;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<OrderLine> lines = new ArrayList<>();
+
+    public void addLine(OrderLine line) {
+        line.setOrder(this);
+        lines.add(line);
+    }
+}
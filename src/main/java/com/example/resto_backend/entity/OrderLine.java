@@ -0,0 +1,49 @@
+package com.example.resto_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * One menu item of an order. Name and price are copied at order time, so later
+ * menu edits do not change placed orders.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "order_lines", indexes = {
+        @Index(name = "idx_order_lines_order", columnList = "order_id")
+})
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_lines_seq")
+    @SequenceGenerator(name = "order_lines_seq", sequenceName = "order_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    /**
+     * Plain column, not a foreign key: menu items can be deleted while their orders remain
+     */
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false, length = 32)
+    private String station;
+}
@@ -1,28 +1,50 @@
 package com.example.resto_backend.entity;
 
+import com.example.resto_backend.security.TokenDigest;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 
+/**
+ * One login session: the current refresh token of a user on one device.
+ */
 @Getter
 @Setter
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_refresh_tokens_user_device", columnNames = {"user_id", "device_id"})
+        },
+        indexes = {
+                @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date")
+        })
 public class RefreshToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    /**
+     * SHA-256 of the refresh JWT; the raw token is never stored
+     */
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "token_hash", nullable = false, unique = true, length = TokenDigest.LENGTH)
+    private byte[] tokenHash;
 
     @ManyToOne // allow multiple tokens per user
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column(name = "device_id", nullable = false, length = 64)
+    private String deviceId;
+
     @Column(nullable = false)
     private Instant expiryDate;
-}
 
+    @Column(nullable = false)
+    private Instant lastUsedAt;
+}
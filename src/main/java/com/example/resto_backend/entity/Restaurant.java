@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+        @Index(name = "idx_restaurants_owner", columnList = "owner")
+})
 public class Restaurant {
 
     @Id
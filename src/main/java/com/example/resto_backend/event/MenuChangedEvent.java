@@ -0,0 +1,27 @@
+package com.example.resto_backend.event;
+
+/**
+ * Published inside the writing transaction whenever a restaurant's menu changes.
+ *
+ * @param diff what changed, serialized as-is to event stream subscribers
+ */
+public record MenuChangedEvent(Long restaurantId, Type type, Object diff) {
+
+    public enum Type {
+        CATEGORY_SAVED("category-saved"),
+        CATEGORY_DELETED("category-deleted"),
+        ITEM_SAVED("item-saved"),
+        ITEM_DELETED("item-deleted"),
+        ITEM_AVAILABILITY("item-availability");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String eventName() {
+            return eventName;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.resto_backend.event;
+
+import com.example.resto_backend.model.OrderView;
+
+/**
+ * Published by the order intake after the order is committed.
+ */
+public record OrderPlacedEvent(Long restaurantId, OrderView order) {
+}
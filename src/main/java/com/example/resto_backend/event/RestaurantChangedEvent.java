@@ -0,0 +1,7 @@
+package com.example.resto_backend.event;
+
+/**
+ * Published inside the writing transaction whenever a restaurant's own fields change.
+ */
+public record RestaurantChangedEvent(Long restaurantId) {
+}
@@ -0,0 +1,52 @@
+package com.example.resto_backend.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps the unique constraint behind a {@link DataIntegrityViolationException} to the detail
+ * shown to clients. Hibernate reports the name as the database spells it, which for H2 is
+ * the backing index (e.g. {@code PUBLIC.UK_USERS_EMAIL_INDEX_4}), so names are matched
+ * case-insensitively by containment.
+ */
+public final class ConstraintConflicts {
+
+    public static final String GENERIC_DETAIL = "The request conflicts with existing data";
+
+    private static final Map<String, String> DETAILS = Map.of(
+            "uk_users_username", "Username already exists",
+            "uk_users_email", "Email already exists",
+            "uk_orders_restaurant_idempotency_key", "An order with this Idempotency-Key already exists"
+    );
+
+    private ConstraintConflicts() {}
+
+    /**
+     * The detail for a known duplicate, or empty when the violated constraint is not listed
+     * (foreign keys, internal uniqueness such as refresh token hashes) or cannot be named
+     */
+    public static Optional<String> duplicateDetail(DataIntegrityViolationException ex) {
+        String name = constraintName(ex);
+        if (name == null) {
+            return Optional.empty();
+        }
+        String normalized = name.toLowerCase(Locale.ROOT);
+        return DETAILS.entrySet().stream()
+                .filter(entry -> normalized.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+
+    private static String constraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
+}
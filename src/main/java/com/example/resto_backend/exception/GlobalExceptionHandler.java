@@ -1,7 +1,10 @@
 package com.example.resto_backend.exception;
 
+import com.example.resto_backend.exception.ProblemResponseWriter.Problem;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.security.access.AccessDeniedException;
@@ -11,19 +14,21 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.Optional;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    private static final String BASE = "https://api.example.com/problems";
+    private static final String BASE = ProblemResponseWriter.TYPE_BASE;
 
-    private static final String ACCESS_DENIED = BASE + "/access-denied";
-    private static final String AUTHENTICATION_REQUIRED = BASE + "/authentication-required";
+    private static final String CONFLICT = BASE + "/conflict";
     private static final String DUPLICATE_RESOURCE = BASE + "/duplicate-resource";
+    private static final String IDEMPOTENCY_KEY_REUSED = BASE + "/idempotency-key-reused";
     private static final String INTERNAL_SERVER_ERROR = BASE + "/internal-server-error";
-    private static final String INVALID_CREDENTIALS = BASE + "/invalid-credentials";
     private static final String NOT_FOUND = BASE + "/not-found";
+    private static final String SERVICE_BUSY = BASE + "/service-busy";
     private static final String VALIDATION_ERROR = BASE + "/validation-error";
 
     /* -------------------- 400 BAD REQUEST -------------------- */
@@ -43,46 +48,35 @@ public class GlobalExceptionHandler {
      * Thrown when authentication is missing or invalid
      */
     @ExceptionHandler(AuthenticationException.class)
-    public ProblemDetail handleUnauthorized(
+    public void handleUnauthorized(
             AuthenticationException ex,
-            HttpServletRequest request
-    ) {
-        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.UNAUTHORIZED);
-        problem.setTitle("Unauthorized");
-        problem.setDetail("Authentication is required");
-        problem.setInstance(URI.create(request.getRequestURI()));
-        problem.setType(URI.create(AUTHENTICATION_REQUIRED));
-        return problem;
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        ProblemResponseWriter.write(response, Problem.AUTHENTICATION_REQUIRED, request.getRequestURI());
     }
 
+    /**
+     * Failed logins; the hottest rejection under credential stuffing, so written from a template
+     */
     @ExceptionHandler(InvalidUsernameOrPasswordException.class)
-    public ProblemDetail handleInvalidCredentials(
+    public void handleInvalidCredentials(
             InvalidUsernameOrPasswordException ex,
-            HttpServletRequest request
-    ) {
-        ProblemDetail problem =
-                ProblemDetail.forStatus(HttpStatus.UNAUTHORIZED);
-
-        problem.setTitle("Unauthorized");
-        problem.setDetail(ex.getMessage());
-        problem.setInstance(URI.create(request.getRequestURI()));
-        problem.setType(URI.create(INVALID_CREDENTIALS));
-        return problem;
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        ProblemResponseWriter.write(response, Problem.INVALID_CREDENTIALS, request.getRequestURI());
     }
 
     /* -------------------- 403 FORBIDDEN (optional but recommended) -------------------- */
 
     @ExceptionHandler(AccessDeniedException.class)
-    public ProblemDetail handleForbidden(
+    public void handleForbidden(
             AccessDeniedException ex,
-            HttpServletRequest request
-    ) {
-        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.FORBIDDEN);
-        problem.setTitle("Forbidden");
-        problem.setDetail("You do not have permission to access this resource");
-        problem.setInstance(URI.create(request.getRequestURI()));
-        problem.setType(URI.create(ACCESS_DENIED));
-        return problem;
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        ProblemResponseWriter.write(response, Problem.FORBIDDEN, request.getRequestURI());
     }
 
     /* -------------------- 404 NOT FOUND -------------------- */
@@ -103,21 +97,90 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    /**
+     * Triggered when an entity does not exist or belongs to another restaurant
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ProblemDetail entityNotFound(
+            ResourceNotFoundException ex,
+            HttpServletRequest request
+    ) {
+        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
+        problem.setTitle("Not Found");
+        problem.setDetail(ex.getMessage());
+        problem.setInstance(URI.create(request.getRequestURI()));
+        problem.setType(URI.create(NOT_FOUND));
+        return problem;
+    }
+
     /* -------------------- 409 CONFLICT -------------------- */
 
     /**
-     * Triggered when database conflict happens
+     * Triggered when database conflict happens; the detail names the duplicate when the
+     * violated constraint is known
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ProblemDetail handleConstraintViolation(
             DataIntegrityViolationException ex,
             HttpServletRequest request
     ) {
+        Optional<String> duplicate = ConstraintConflicts.duplicateDetail(ex);
         ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.CONFLICT);
-        problem.setTitle("Duplicate resource");
-        problem.setDetail("Username or email already exists");
+        problem.setTitle(duplicate.isPresent() ? "Duplicate resource" : "Conflict");
+        problem.setDetail(duplicate.orElse(ConstraintConflicts.GENERIC_DETAIL));
+        problem.setInstance(URI.create(request.getRequestURI()));
+        problem.setType(URI.create(duplicate.isPresent() ? DUPLICATE_RESOURCE : CONFLICT));
+        return problem;
+    }
+
+    /* -------------------- 422 UNPROCESSABLE ENTITY -------------------- */
+
+    /**
+     * Triggered when an Idempotency-Key is reused with a different payload
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ProblemDetail handleIdempotencyKeyReused(
+            IdempotencyKeyReusedException ex,
+            HttpServletRequest request
+    ) {
+        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.UNPROCESSABLE_ENTITY);
+        problem.setTitle("Unprocessable Entity");
+        problem.setDetail(ex.getMessage());
+        problem.setInstance(URI.create(request.getRequestURI()));
+        problem.setType(URI.create(IDEMPOTENCY_KEY_REUSED));
+        return problem;
+    }
+
+    /* -------------------- 429 TOO MANY REQUESTS -------------------- */
+
+    /**
+     * Logins over the per-username limit
+     */
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public void handleTooManyLoginAttempts(
+            TooManyLoginAttemptsException ex,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+        ProblemResponseWriter.write(response, Problem.TOO_MANY_REQUESTS, request.getRequestURI());
+    }
+
+    /* -------------------- 503 SERVICE UNAVAILABLE -------------------- */
+
+    /**
+     * Triggered when a bounded worker pool rejects work
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ProblemDetail handleServiceBusy(
+            ServiceBusyException ex,
+            HttpServletRequest request
+    ) {
+        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problem.setTitle("Service Unavailable");
+        problem.setDetail(ex.getMessage());
         problem.setInstance(URI.create(request.getRequestURI()));
-        problem.setType(URI.create(DUPLICATE_RESOURCE));
+        problem.setType(URI.create(SERVICE_BUSY));
         return problem;
     }
 
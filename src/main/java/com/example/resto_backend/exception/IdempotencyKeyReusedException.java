@@ -0,0 +1,12 @@
+package com.example.resto_backend.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("This Idempotency-Key was already used with a different request");
+    }
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.resto_backend.exception;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes RFC 7807 problem responses for the fixed rejections on the hot path, such as
+ * expired tokens or failed and rate-limited logins. The body up to {@code instance} is
+ * encoded once per problem; per response only the request path is JSON-escaped into a
+ * single exactly-sized buffer, written with a Content-Length.
+ */
+public final class ProblemResponseWriter {
+
+    public static final String TYPE_BASE = "https://api.example.com/problems";
+
+    public enum Problem {
+        AUTHENTICATION_REQUIRED(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized",
+                "Authentication is required", "/authentication-required"),
+        INVALID_CREDENTIALS(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized",
+                "Invalid username or password", "/invalid-credentials"),
+        FORBIDDEN(HttpServletResponse.SC_FORBIDDEN, "Forbidden",
+                "You do not have permission to access this resource", "/access-denied"),
+        TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests",
+                "Too many login attempts, please try again later", "/too-many-requests");
+
+        private final int status;
+        private final byte[] prefix;
+
+        Problem(int status, String title, String detail, String type) {
+            this.status = status;
+            // Same field order as a serialized ProblemDetail; constants need no escaping
+            this.prefix = ("{\"type\":\"" + TYPE_BASE + type + "\",\"title\":\"" + title
+                    + "\",\"status\":" + status + ",\"detail\":\"" + detail + "\",\"instance\":\"")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+
+        public int status() {
+            return status;
+        }
+    }
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private ProblemResponseWriter() {}
+
+    public static void write(HttpServletResponse response, Problem problem, String instance) throws IOException {
+        byte[] body = encode(problem, instance);
+
+        response.setStatus(problem.status);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static byte[] encode(Problem problem, String instance) {
+        String value = instance != null ? instance : "";
+        byte[] body = new byte[problem.prefix.length + escapedLength(value) + SUFFIX.length];
+
+        System.arraycopy(problem.prefix, 0, body, 0, problem.prefix.length);
+        int end = escape(value, body, problem.prefix.length);
+        System.arraycopy(SUFFIX, 0, body, end, SUFFIX.length);
+        return body;
+    }
+
+    /**
+     * UTF-8 length of {@code value} once escaped as a JSON string
+     */
+    private static int escapedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Mirrors {@link #escapedLength}; lone surrogates are written as U+FFFD
+     */
+    private static int escape(String value, byte[] out, int pos) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out[pos++] = '\\';
+                out[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                out[pos++] = '\\';
+                out[pos++] = 'u';
+                out[pos++] = '0';
+                out[pos++] = '0';
+                out[pos++] = HEX[c >> 4];
+                out[pos++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                char encoded = Character.isSurrogate(c) ? '\uFFFD' : c;
+                out[pos++] = (byte) (0xE0 | (encoded >> 12));
+                out[pos++] = (byte) (0x80 | ((encoded >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (encoded & 0x3F));
+            }
+        }
+        return pos;
+    }
+}
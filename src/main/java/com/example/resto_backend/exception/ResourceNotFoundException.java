@@ -0,0 +1,12 @@
+package com.example.resto_backend.exception;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException() {
+        super("The requested resource was not found");
+    }
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
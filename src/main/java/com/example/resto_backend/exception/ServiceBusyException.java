@@ -0,0 +1,12 @@
+package com.example.resto_backend.exception;
+
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException() {
+        super("The service is busy, please try again shortly");
+    }
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.resto_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityRequest {
+    private boolean available;
+}
@@ -0,0 +1,51 @@
+package com.example.resto_backend.model;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in a list ordered by (timestamp, id), newest first. Clients only see
+ * the opaque, URL-safe encoding and pass it back unchanged to fetch the next page.
+ */
+public record Cursor(Instant timestamp, Long id) {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(timestamp.getEpochSecond())
+                .putInt(timestamp.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @return null for a null or blank cursor, i.e. the first page
+     */
+    public static Cursor decode(String cursor) throws IllegalArgumentException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Instant timestamp;
+        try {
+            timestamp = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new Cursor(timestamp, buffer.getLong());
+    }
+}
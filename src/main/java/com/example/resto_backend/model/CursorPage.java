@@ -0,0 +1,39 @@
+package com.example.resto_backend.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is absent on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Page size from the request parameter, defaulting and capping it
+     */
+    public static int limit(Integer requested) throws IllegalArgumentException {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * @param rows up to {@code limit + 1} rows; the extra row only signals that a next page exists
+     */
+    public static CursorPage<Map<String, Object>> of(List<KeysetRow> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows.stream().map(KeysetRow::fields).toList(), null);
+        }
+
+        List<KeysetRow> page = rows.subList(0, limit);
+        return new CursorPage<>(page.stream().map(KeysetRow::fields).toList(),
+                page.get(limit - 1).position().encode());
+    }
+}
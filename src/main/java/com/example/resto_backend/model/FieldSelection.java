@@ -0,0 +1,59 @@
+package com.example.resto_backend.model;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed {@code fields=} parameter: the subset of a resource's fields a client asked for,
+ * in the resource's own field order.
+ */
+public final class FieldSelection {
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * @param available every selectable field, in output order
+     * @param defaults  fields returned when the parameter is absent
+     */
+    public static FieldSelection parse(String requested, List<String> available, List<String> defaults)
+            throws IllegalArgumentException {
+        if (requested == null || requested.isBlank()) {
+            return new FieldSelection(new LinkedHashSet<>(defaults));
+        }
+
+        Set<String> asked = new LinkedHashSet<>();
+        for (String field : requested.split(",")) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty() && !available.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown field '" + trimmed + "', expected any of " + available);
+            }
+            asked.add(trimmed);
+        }
+        asked.remove("");
+        if (asked.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + available);
+        }
+
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String field : available) {
+            if (asked.contains(field)) {
+                ordered.add(field);
+            }
+        }
+        return new FieldSelection(ordered);
+    }
+
+    public boolean contains(String field) {
+        return fields.contains(field);
+    }
+
+    public Set<String> fields() {
+        return fields;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.resto_backend.model;
+
+import java.util.Map;
+
+/**
+ * A row of a sparse keyset query: its position in the list plus the selected fields,
+ * keyed by API field name.
+ */
+public record KeysetRow(Cursor position, Map<String, Object> fields) {
+}
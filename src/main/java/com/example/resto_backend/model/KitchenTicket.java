@@ -0,0 +1,19 @@
+package com.example.resto_backend.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The part of an order one kitchen station has to prepare.
+ */
+public record KitchenTicket(Long id,
+                            Long orderId,
+                            String station,
+                            String note,
+                            String placedBy,
+                            Instant placedAt,
+                            List<Line> lines) {
+
+    public record Line(String name, int quantity) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.resto_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuCategoryRequest {
+    private String name;
+    private Integer sortOrder;
+}
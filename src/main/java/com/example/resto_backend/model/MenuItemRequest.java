@@ -0,0 +1,22 @@
+package com.example.resto_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuItemRequest {
+    private Long categoryId;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Boolean available;
+    private String station;
+    private Integer sortOrder;
+}
@@ -0,0 +1,47 @@
+package com.example.resto_backend.model;
+
+import com.example.resto_backend.entity.MenuCategory;
+import com.example.resto_backend.entity.MenuItem;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Read model of a restaurant's menu: categories in display order, each with its items.
+ */
+public record MenuView(Long restaurantId, List<Category> categories) {
+
+    public record Category(Long id, String name, int sortOrder, List<Item> items) {
+
+        public static Category of(MenuCategory category, List<Item> items) {
+            return new Category(category.getId(), category.getName(), category.getSortOrder(), items);
+        }
+    }
+
+    public record Item(Long id,
+                       Long categoryId,
+                       String name,
+                       String description,
+                       BigDecimal price,
+                       boolean available,
+                       String station,
+                       int sortOrder) {
+
+        public static Item of(MenuItem item) {
+            return new Item(item.getId(), item.getCategory().getId(), item.getName(), item.getDescription(),
+                    item.getPrice(), item.isAvailable(), item.getStation(), item.getSortOrder());
+        }
+    }
+
+    /**
+     * Diff for a removed category or item
+     */
+    public record Deleted(Long id) {
+    }
+
+    /**
+     * Diff for an item marked sold out or back in stock
+     */
+    public record Availability(Long id, boolean available) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.resto_backend.model;
+
+public enum OrderStatus {
+    PLACED
+}
@@ -0,0 +1,30 @@
+package com.example.resto_backend.model;
+
+import com.example.resto_backend.entity.Order;
+import com.example.resto_backend.entity.OrderLine;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record OrderView(Long id,
+                        OrderStatus status,
+                        String placedBy,
+                        String note,
+                        BigDecimal total,
+                        Instant createdAt,
+                        List<Line> lines) {
+
+    public static OrderView of(Order order) {
+        return new OrderView(order.getId(), order.getStatus(), order.getPlacedBy(), order.getNote(),
+                order.getTotal(), order.getCreatedAt(), order.getLines().stream().map(Line::of).toList());
+    }
+
+    public record Line(Long menuItemId, String name, BigDecimal unitPrice, int quantity, String station) {
+
+        public static Line of(OrderLine line) {
+            return new Line(line.getMenuItemId(), line.getName(), line.getUnitPrice(), line.getQuantity(),
+                    line.getStation());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.resto_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlaceOrderRequest {
+    private List<Line> lines;
+    private String note;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Line {
+        private Long menuItemId;
+        private Integer quantity;
+    }
+}
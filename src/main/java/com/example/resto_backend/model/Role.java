@@ -2,5 +2,5 @@ package com.example.resto_backend.model;
 
 public enum Role {
     OWNER,
-    WORKER
+    STAFF
 }
@@ -0,0 +1,16 @@
+package com.example.resto_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StaffRequest {
+    private String username;
+    private String password;
+    private String email;
+}
@@ -0,0 +1,12 @@
+package com.example.resto_backend.model;
+
+import com.example.resto_backend.entity.User;
+
+import java.time.Instant;
+
+public record StaffView(Long id, String username, String email, Role role, Instant createdAt) {
+
+    public static StaffView of(User user) {
+        return new StaffView(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.getCreatedAt());
+    }
+}
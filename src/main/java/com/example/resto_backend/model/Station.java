@@ -0,0 +1,31 @@
+package com.example.resto_backend.model;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Kitchen stations are free-form names chosen per restaurant, e.g. grill, bar or cold.
+ */
+public final class Station {
+
+    public static final String DEFAULT = "kitchen";
+
+    private static final Pattern NAME = Pattern.compile("[a-z0-9-]{1,32}");
+
+    private Station() {}
+
+    /**
+     * Lower-cased station name; null or blank means the default station
+     */
+    public static String normalize(String station) throws IllegalArgumentException {
+        if (station == null || station.isBlank()) {
+            return DEFAULT;
+        }
+
+        String normalized = station.trim().toLowerCase(Locale.ROOT);
+        if (!NAME.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Station must be 1 to 32 letters, digits or dashes");
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.model.Cursor;
+import com.example.resto_backend.model.FieldSelection;
+import com.example.resto_backend.model.KeysetRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared sparse keyset query: newest first by (timestamp, id), selecting only the requested
+ * fields. The JPQL is assembled from fixed strings supplied by the repository, never from
+ * request input. With an index on (scope, timestamp, id) every page is one index seek.
+ */
+final class KeysetQuery {
+
+    private final String entity;
+    private final String timestampPath;
+    private final Map<String, String> columns;
+
+    /**
+     * @param entity        JPQL entity name, aliased as {@code e}
+     * @param timestampPath e.g. {@code e.createdAt}
+     * @param columns       API field name to JPQL path, in output order
+     */
+    KeysetQuery(String entity, String timestampPath, Map<String, String> columns) {
+        this.entity = entity;
+        this.timestampPath = timestampPath;
+        this.columns = columns;
+    }
+
+    /**
+     * Fetches {@code limit + 1} rows so the caller can tell whether a next page exists.
+     */
+    List<KeysetRow> fetch(EntityManager entityManager, String scopePath, Object scope,
+                          Cursor after, int limit, FieldSelection fields) {
+        // The keyset columns are always selected, under aliases that cannot clash with a field
+        StringBuilder jpql = new StringBuilder("select ")
+                .append(timestampPath).append(" as keyset_timestamp, e.id as keyset_id");
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            if (fields.contains(column.getKey())) {
+                jpql.append(", ").append(column.getValue()).append(" as ").append(column.getKey());
+            }
+        }
+        jpql.append(" from ").append(entity).append(" e where ").append(scopePath).append(" = :scope");
+        if (after != null) {
+            jpql.append(" and (").append(timestampPath).append(" < :timestamp or (")
+                    .append(timestampPath).append(" = :timestamp and e.id < :id))");
+        }
+        jpql.append(" order by ").append(timestampPath).append(" desc, e.id desc");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("scope", scope)
+                .setMaxResults(limit + 1);
+        if (after != null) {
+            query.setParameter("timestamp", after.timestamp()).setParameter("id", after.id());
+        }
+
+        List<KeysetRow> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> selected = new LinkedHashMap<>();
+            for (String field : columns.keySet()) {
+                // Null values are left out, like everywhere else in the API
+                if (fields.contains(field) && tuple.get(field) != null) {
+                    selected.put(field, tuple.get(field));
+                }
+            }
+            Cursor position = new Cursor(tuple.get("keyset_timestamp", Instant.class),
+                    tuple.get("keyset_id", Long.class));
+            rows.add(new KeysetRow(position, selected));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.entity.MenuCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MenuCategoryRepository extends JpaRepository<MenuCategory, Long> {
+
+    List<MenuCategory> findAllByRestaurantIdOrderBySortOrderAscIdAsc(Long restaurantId);
+
+    Optional<MenuCategory> findByIdAndRestaurantId(Long id, Long restaurantId);
+}
@@ -0,0 +1,21 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.entity.MenuItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+
+    List<MenuItem> findAllByRestaurantIdOrderBySortOrderAscIdAsc(Long restaurantId);
+
+    Optional<MenuItem> findByIdAndRestaurantId(Long id, Long restaurantId);
+
+    @Modifying
+    @Query("delete from MenuItem i where i.category.id = :categoryId")
+    int deleteAllByCategoryId(@Param("categoryId") Long categoryId);
+}
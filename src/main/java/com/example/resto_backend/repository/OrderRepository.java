@@ -0,0 +1,13 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.entity.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    @EntityGraph(attributePaths = "lines")
+    Optional<Order> findByRestaurantIdAndIdempotencyKey(Long restaurantId, String idempotencyKey);
+}
@@ -0,0 +1,16 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.model.Cursor;
+import com.example.resto_backend.model.FieldSelection;
+import com.example.resto_backend.model.KeysetRow;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Keyset page of a restaurant's orders, newest first, selecting only the requested
+     * fields. Fetches {@code limit + 1} rows so the caller can tell whether a next page exists.
+     */
+    List<KeysetRow> findPage(Long restaurantId, Cursor after, int limit, FieldSelection fields);
+}
@@ -0,0 +1,76 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.model.Cursor;
+import com.example.resto_backend.model.FieldSelection;
+import com.example.resto_backend.model.KeysetRow;
+import com.example.resto_backend.model.OrderView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Sparse keyset queries for {@link OrderRepository}, seeking on the
+ * (restaurant_id, created_at, id) index.
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    public static final String LINES = "lines";
+
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "e.id");
+        COLUMNS.put("status", "e.status");
+        COLUMNS.put("placed_by", "e.placedBy");
+        COLUMNS.put("note", "e.note");
+        COLUMNS.put("total", "e.total");
+        COLUMNS.put("created_at", "e.createdAt");
+    }
+
+    public static final List<String> FIELDS = Stream.concat(COLUMNS.keySet().stream(), Stream.of(LINES)).toList();
+
+    private static final KeysetQuery PAGE = new KeysetQuery("Order", "e.createdAt", COLUMNS);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<KeysetRow> findPage(Long restaurantId, Cursor after, int limit, FieldSelection fields) {
+        List<KeysetRow> rows = PAGE.fetch(entityManager, "e.restaurant.id", restaurantId, after, limit, fields);
+
+        if (fields.contains(LINES) && !rows.isEmpty()) {
+            attachLines(rows);
+        }
+        return rows;
+    }
+
+    /**
+     * One query for the lines of the whole page
+     */
+    private void attachLines(List<KeysetRow> rows) {
+        List<Long> orderIds = rows.stream().map(row -> row.position().id()).toList();
+
+        Map<Long, List<OrderView.Line>> linesByOrder = new HashMap<>();
+        entityManager.createQuery("""
+                        select l.order.id, l.menuItemId, l.name, l.unitPrice, l.quantity, l.station
+                        from OrderLine l
+                        where l.order.id in :orderIds
+                        order by l.id""", Object[].class)
+                .setParameter("orderIds", orderIds)
+                .getResultList()
+                .forEach(line -> linesByOrder.computeIfAbsent((Long) line[0], id -> new ArrayList<>())
+                        .add(new OrderView.Line((Long) line[1], (String) line[2], (BigDecimal) line[3],
+                                (Integer) line[4], (String) line[5])));
+
+        for (KeysetRow row : rows) {
+            row.fields().put(LINES, linesByOrder.getOrDefault(row.position().id(), List.of()));
+        }
+    }
+}
@@ -1,19 +1,99 @@
 package com.example.resto_backend.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import com.example.resto_backend.entity.RefreshToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    void deleteByUserId(Long userId);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
-    Optional<RefreshToken> findByToken(String token);
+    /**
+     * Answers a refresh validation with one indexed query and no entity hydration
+     */
+    @Query("""
+            select count(t) > 0
+            from RefreshToken t join t.user u
+            where t.tokenHash = :tokenHash and u.username = :username and t.expiryDate > :now
+            """)
+    boolean existsValid(@Param("tokenHash") byte[] tokenHash,
+                        @Param("username") String username,
+                        @Param("now") Instant now);
 
-    Optional<RefreshToken> findByUserId(Long userId);
-}
+    /**
+     * Swaps a valid session token for a new one in a single statement.
+     * Returns 0 when the old token is unknown, expired or belongs to another user.
+     */
+    @Modifying
+    @Query("""
+            update RefreshToken t
+            set t.tokenHash = :newTokenHash, t.expiryDate = :expiryDate, t.lastUsedAt = :now
+            where t.tokenHash = :oldTokenHash
+              and t.expiryDate > :now
+              and t.user.id = (select u.id from User u where u.username = :username)
+            """)
+    int rotate(@Param("oldTokenHash") byte[] oldTokenHash,
+               @Param("newTokenHash") byte[] newTokenHash,
+               @Param("username") String username,
+               @Param("expiryDate") Instant expiryDate,
+               @Param("now") Instant now);
+
+    /**
+     * Re-points an existing device session at a new token. Returns 0 when the device has no session yet.
+     */
+    @Modifying
+    @Query("""
+            update RefreshToken t
+            set t.tokenHash = :tokenHash, t.expiryDate = :expiryDate, t.lastUsedAt = :lastUsedAt
+            where t.user.id = :userId and t.deviceId = :deviceId
+            """)
+    int updateSession(@Param("userId") Long userId,
+                      @Param("deviceId") String deviceId,
+                      @Param("tokenHash") byte[] tokenHash,
+                      @Param("expiryDate") Instant expiryDate,
+                      @Param("lastUsedAt") Instant lastUsedAt);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.user.id = :userId and t.deviceId = :deviceId")
+    int deleteSession(@Param("userId") Long userId, @Param("deviceId") String deviceId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    @Query("select t.id from RefreshToken t where t.user.id = :userId order by t.lastUsedAt desc")
+    List<Long> findSessionIdsMostRecentFirst(@Param("userId") Long userId);
+
+    @Query("""
+            select t.tokenHash as tokenHash, u.id as userId, u.username as username,
+                   t.deviceId as deviceId, t.expiryDate as expiryDate, t.lastUsedAt as lastUsedAt
+            from RefreshToken t join t.user u
+            where t.expiryDate > :now
+            """)
+    List<ActiveToken> findAllActive(@Param("now") Instant now);
 
+    @Query("select t.id from RefreshToken t where t.expiryDate < :now order by t.expiryDate")
+    List<Long> findExpiredIds(@Param("now") Instant now, Limit limit);
 
+    interface ActiveToken {
+        byte[] getTokenHash();
 
+        Long getUserId();
+
+        String getUsername();
+
+        String getDeviceId();
+
+        Instant getExpiryDate();
+
+        Instant getLastUsedAt();
+    }
+}
@@ -2,13 +2,26 @@ package com.example.resto_backend.repository;
 
 import com.example.resto_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * @param emails lower case; matched against stored emails regardless of their case
+     */
+    @Query("select u.email from User u where lower(u.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
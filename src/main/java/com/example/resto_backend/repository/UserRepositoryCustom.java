@@ -0,0 +1,15 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.model.Cursor;
+import com.example.resto_backend.model.FieldSelection;
+import com.example.resto_backend.model.KeysetRow;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Keyset page of a restaurant's users, newest first, selecting only the requested fields.
+     */
+    List<KeysetRow> findPage(Long restaurantId, Cursor after, int limit, FieldSelection fields);
+}
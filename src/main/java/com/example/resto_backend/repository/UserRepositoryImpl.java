@@ -0,0 +1,40 @@
+package com.example.resto_backend.repository;
+
+import com.example.resto_backend.model.Cursor;
+import com.example.resto_backend.model.FieldSelection;
+import com.example.resto_backend.model.KeysetRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse keyset queries for {@link UserRepository}, seeking on the
+ * (restaurant_id, created_at, id) index. The password hash is not selectable.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "e.id");
+        COLUMNS.put("username", "e.username");
+        COLUMNS.put("email", "e.email");
+        COLUMNS.put("role", "e.role");
+        COLUMNS.put("created_at", "e.createdAt");
+    }
+
+    public static final List<String> FIELDS = List.copyOf(COLUMNS.keySet());
+
+    private static final KeysetQuery PAGE = new KeysetQuery("User", "e.createdAt", COLUMNS);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<KeysetRow> findPage(Long restaurantId, Cursor after, int limit, FieldSelection fields) {
+        return PAGE.fetch(entityManager, "e.restaurant.id", restaurantId, after, limit, fields);
+    }
+}
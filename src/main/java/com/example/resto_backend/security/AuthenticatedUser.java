@@ -0,0 +1,37 @@
+package com.example.resto_backend.security;
+
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The caller's identity as carried in the access token: username, tenant (restaurant id)
+ * and role. Available to controllers via {@code @AuthenticationPrincipal} without any
+ * database round trip.
+ */
+public record AuthenticatedUser(String username,
+                                Long restaurantId,
+                                Role role) implements Principal {
+
+    public static AuthenticatedUser of(User user) {
+        // getId() on the lazy restaurant proxy does not initialize it
+        return new AuthenticatedUser(user.getUsername(), user.getRestaurant().getId(), user.getRole());
+    }
+
+    public boolean isOwner() {
+        return role == Role.OWNER;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.resto_backend.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.UUID;
+
+/**
+ * Identifies the client device a login session belongs to, so each device keeps its own
+ * refresh token. Taken from the {@code X-Device-Id} header or the device cookie; a new id
+ * is issued as a long-lived cookie when neither is present.
+ */
+public final class DeviceIds {
+
+    private static final int MAX_LENGTH = 64;
+    private static final int COOKIE_MAX_AGE_SECONDS = 365 * 24 * 60 * 60;
+
+    private DeviceIds() {}
+
+    public static String resolve(HttpServletRequest request, HttpServletResponse response) {
+        String deviceId = request.getHeader(SecurityConstants.DEVICE_ID_HEADER);
+
+        if (!isValid(deviceId) && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (SecurityConstants.DEVICE_ID_COOKIE.equals(cookie.getName())) {
+                    deviceId = cookie.getValue();
+                }
+            }
+        }
+
+        if (!isValid(deviceId)) {
+            deviceId = UUID.randomUUID().toString();
+
+            Cookie deviceCookie = new Cookie(SecurityConstants.DEVICE_ID_COOKIE, deviceId);
+            deviceCookie.setHttpOnly(true);
+            deviceCookie.setPath(SecurityConstants.COOKIE_PATH);
+            deviceCookie.setMaxAge(COOKIE_MAX_AGE_SECONDS);
+            response.addCookie(deviceCookie);
+        }
+        return deviceId;
+    }
+
+    private static boolean isValid(String deviceId) {
+        return deviceId != null && !deviceId.isBlank() && deviceId.length() <= MAX_LENGTH;
+    }
+}
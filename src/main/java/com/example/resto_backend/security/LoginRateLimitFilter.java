@@ -0,0 +1,74 @@
+package com.example.resto_backend.security;
+
+import com.example.resto_backend.exception.ProblemResponseWriter;
+import com.example.resto_backend.exception.ProblemResponseWriter.Problem;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-client login limit to the web and API login endpoints before the
+ * request body is read. API rejections are written from the pre-encoded 429 template;
+ * web form logins are passed on marked as limited, so the login page renders the same
+ * error as for the per-username limit, which AuthService applies once the username is known.
+ * <p>
+ * The client is the remote address; behind a proxy, set {@code server.forward-headers-strategy}
+ * so it is taken from the forwarded headers.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    // Matched on the servlet path, so a context path does not bypass the limit
+    private static final RequestMatcher WEB_LOGIN = AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/login");
+    private static final RequestMatcher LOGIN = new OrRequestMatcher(
+            WEB_LOGIN, AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/v1/auth/login"));
+
+    /**
+     * Request attribute holding the Retry-After seconds of a rate-limited web login
+     */
+    public static final String RETRY_AFTER_ATTRIBUTE = LoginRateLimitFilter.class.getName() + ".retryAfter";
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter) {
+        this.loginRateLimiter = loginRateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !loginRateLimiter.isEnabled() || !LOGIN.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long wait = loginRateLimiter.acquireForClient(request.getRemoteAddr());
+        if (wait > 0) {
+            long retryAfter = LoginRateLimiter.retryAfterSeconds(wait);
+            if (WEB_LOGIN.matches(request)) {
+                // AuthPageController renders the login page without authenticating
+                request.setAttribute(RETRY_AFTER_ATTRIBUTE, retryAfter);
+                filterChain.doFilter(request, response);
+                return;
+            }
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            ProblemResponseWriter.write(response, Problem.TOO_MANY_REQUESTS, request.getRequestURI());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.resto_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for login attempts, one per client address and one per username, so
+ * repeated attempts are turned away before the user lookup and the password hash.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} updated with compare-and-set (the generic
+ * cell rate form of a token bucket), held in a bounded Caffeine map. A bucket left idle
+ * for capacity x refill is full again, so it is evicted after that long without losing
+ * anything.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Limit byClient;
+    private final Limit byUsername;
+
+    public LoginRateLimiter(@Value("${login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${login-rate-limit.per-client.capacity:20}") int clientCapacity,
+                            @Value("${login-rate-limit.per-client.refill-ms:3000}") long clientRefillMs,
+                            @Value("${login-rate-limit.per-username.capacity:5}") int usernameCapacity,
+                            @Value("${login-rate-limit.per-username.refill-ms:12000}") long usernameRefillMs,
+                            @Value("${login-rate-limit.max-keys:100000}") long maxKeys,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.byClient = new Limit(clientCapacity, clientRefillMs, maxKeys, rejectedCounter(meterRegistry, "client"));
+        this.byUsername = new Limit(usernameCapacity, usernameRefillMs, maxKeys, rejectedCounter(meterRegistry, "username"));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("auth.rate_limited")
+                .description("Login attempts rejected by the rate limiter, by bucket")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token for the client address. Returns 0 when the attempt may go ahead,
+     * otherwise the nanoseconds until the next token.
+     */
+    public long acquireForClient(String address) {
+        return enabled ? byClient.acquire(address, System.nanoTime()) : 0;
+    }
+
+    /**
+     * Takes a token for the username. Returns 0 when the attempt may go ahead,
+     * otherwise the nanoseconds until the next token.
+     */
+    public long acquireForUsername(String username) {
+        return enabled && username != null ? byUsername.acquire(username, System.nanoTime()) : 0;
+    }
+
+    /**
+     * Whole seconds to send in a Retry-After header, rounded up
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    static final class Limit {
+
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+        private final Counter rejected;
+
+        Limit(int capacity, long refillMs, long maxKeys, Counter rejected) {
+            if (capacity < 1 || refillMs < 1) {
+                throw new IllegalArgumentException("Rate limit capacity and refill must be positive");
+            }
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(refillMs);
+            this.burstNanos = intervalNanos * capacity;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(burstNanos))
+                    .build();
+            this.rejected = rejected;
+        }
+
+        /**
+         * The bucket holds the time at which it will be full again; a token is available
+         * while that time is less than a full burst ahead of now. Rejections leave it as is.
+         */
+        long acquire(String key, long now) {
+            AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long wait = next - now - burstNanos;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        long size() {
+            buckets.cleanUp();
+            return buckets.estimatedSize();
+        }
+    }
+}
@@ -9,6 +9,8 @@ public final class SecurityConstants {
     public static final String AUTH_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer ";
     public static final String COOKIE_PATH = "/";
+    public static final String DEVICE_ID_COOKIE = "device_id";
+    public static final String DEVICE_ID_HEADER = "X-Device-Id";
     public static final String REFRESH_TOKEN_COOKIE = "refresh_token";
 
 }
@@ -0,0 +1,47 @@
+package com.example.resto_backend.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests of raw tokens, used as fixed-size lookup keys so raw JWTs
+ * never have to be compared or stored.
+ */
+public final class TokenDigest {
+
+    public static final int LENGTH = 32;
+
+    private static final MessageDigest PROTOTYPE;
+
+    static {
+        try {
+            PROTOTYPE = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private TokenDigest() {}
+
+    public static byte[] sha256(String token) {
+        return newDigest().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Digest wrapped in a {@link ByteBuffer}, which compares and hashes by content
+     * and can therefore be used directly as a map key.
+     */
+    public static ByteBuffer key(String token) {
+        return ByteBuffer.wrap(sha256(token));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return (MessageDigest) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest is not cloneable", e);
+        }
+    }
+}
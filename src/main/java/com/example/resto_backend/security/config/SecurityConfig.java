@@ -1,38 +1,112 @@
 package com.example.resto_backend.security.config;
 
+import com.example.resto_backend.exception.ProblemResponseWriter;
+import com.example.resto_backend.exception.ProblemResponseWriter.Problem;
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.security.LoginRateLimitFilter;
 import com.example.resto_backend.security.jwt.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-
-import java.io.IOException;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final LoginRateLimitFilter loginRateLimitFilter;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, LoginRateLimitFilter loginRateLimitFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.loginRateLimitFilter = loginRateLimitFilter;
+    }
+
+    private static final String METRICS_ROLE = "METRICS";
+
+    /**
+     * Actuator endpoints use HTTP Basic with the configured scrape credentials, separate
+     * from user accounts. Health stays public for load balancer probes.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   PasswordEncoder passwordEncoder,
+                                                   @Value("${metrics.scrape.username:prometheus}") String username,
+                                                   @Value("${metrics.scrape.password:}") String password)
+            throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole(METRICS_ROLE)
+                )
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authenticationManager(scrapeAuthenticationManager(passwordEncoder, username, password))
+                .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+
+    private AuthenticationManager scrapeAuthenticationManager(PasswordEncoder passwordEncoder,
+                                                              String username, String password) {
+        InMemoryUserDetailsManager scrapers = new InMemoryUserDetailsManager();
+        if (!password.isEmpty()) {
+            scrapers.createUser(User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles(METRICS_ROLE)
+                    .build());
+        }
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(scrapers);
+        return new ProviderManager(provider);
     }
 
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of event streams were authorized on the original request
+                        .requestMatchers(eventStreamAsyncDispatch()).permitAll()
                         .requestMatchers(
                                 "/login",
                                 "/register",
                                 "/api/v1/auth/**",
                                 "/error"
                         ).permitAll()
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/restaurant").hasRole(Role.OWNER.name())
+                        .requestMatchers("/api/v1/staff/**").hasRole(Role.OWNER.name())
+                        .requestMatchers(HttpMethod.POST, "/api/v1/menu/**").hasRole(Role.OWNER.name())
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/menu/**").hasRole(Role.OWNER.name())
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/menu/**").hasRole(Role.OWNER.name())
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**"
@@ -49,41 +123,40 @@ public class SecurityConfig {
                             String uri = request.getRequestURI();
 
                             if (uri.startsWith("/api")) {
-                                writeJsonError(response,
-                                        HttpServletResponse.SC_UNAUTHORIZED,
-                                        "Authentication is required",
-                                        uri,
-                                        "Unauthorized");
+                                ProblemResponseWriter.write(response, Problem.AUTHENTICATION_REQUIRED, uri);
                             }
                             else {
                                 response.sendRedirect("/login");
                             }
                         })
+                        .accessDeniedHandler((request, response, accessDeniedException) -> {
+
+                            String uri = request.getRequestURI();
+
+                            if (uri.startsWith("/api")) {
+                                ProblemResponseWriter.write(response, Problem.FORBIDDEN, uri);
+                            }
+                            else {
+                                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                            }
+                        })
                 );
 
+        // Turn away login floods before anything else runs
+        http.addFilterBefore(loginRateLimitFilter, SecurityContextHolderFilter.class);
+
         // Add JWT Authentication filter
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
-    private void writeJsonError(HttpServletResponse response, int status, String detail,
-                                String instance, String title)
-            throws IOException {
-
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.getWriter().write("""
-                {
-                  "type": "https://api.example.com/problems/authentication-required",
-                  "title": "%s",
-                  "status": %s,
-                  "detail": "%s",
-                  "instance": "%s"
-                }
-            """
-            .formatted(title, status, detail, instance)
+    private static RequestMatcher eventStreamAsyncDispatch() {
+        return new AndRequestMatcher(
+                new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                new OrRequestMatcher(
+                        AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/menu/stream"),
+                        AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/v1/kitchen/stations/*/stream")
+                )
         );
     }
 }
-
-
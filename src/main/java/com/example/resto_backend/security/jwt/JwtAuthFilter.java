@@ -1,33 +1,58 @@
 package com.example.resto_backend.security.jwt;
 
+import com.example.resto_backend.security.AuthenticatedUser;
 import com.example.resto_backend.security.SecurityConstants;
-import com.example.resto_backend.service.RefreshTokenService;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private enum Source { NONE, COOKIE, HEADER }
+
+    private enum Result { CACHED, VERIFIED, REJECTED }
+
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JwtAuthFilter(JwtUtil jwtUtil) {
+    private final Counter[] tokensBySource = new Counter[Source.values().length];
+    private final Counter[] verificationsByResult = new Counter[Result.values().length];
+    private final Timer parseTimer;
+
+    public JwtAuthFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+
+        for (Source source : Source.values()) {
+            tokensBySource[source.ordinal()] = Counter.builder("auth.filter.requests")
+                    .description("Requests by where the access token was read from")
+                    .tag("source", source.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        for (Result result : Result.values()) {
+            verificationsByResult[result.ordinal()] = Counter.builder("auth.filter.verifications")
+                    .description("Access token checks: served from cache, verified, or rejected")
+                    .tag("result", result.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        this.parseTimer = Timer.builder("auth.filter.parse")
+                .description("Signature and claims verification on a cache miss")
+                .register(meterRegistry);
     }
 
     @Override
@@ -37,12 +62,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String token = null;
+        Source source = Source.NONE;
 
         // Read ACCESS_TOKEN cookie
         if (request.getCookies() != null) {
             for (Cookie cookie : request.getCookies()) {
                 if (SecurityConstants.ACCESS_TOKEN_COOKIE.equals(cookie.getName())) {
                     token = cookie.getValue();
+                    source = Source.COOKIE;
                 }
             }
         }
@@ -50,21 +77,62 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String header = request.getHeader(SecurityConstants.AUTH_HEADER);
         if (header != null && header.startsWith(SecurityConstants.BEARER_PREFIX)) {
             token = header.substring(7);
+            source = Source.HEADER;
         }
+        tokensBySource[source.ordinal()].increment();
 
-        if (token != null && jwtUtil.validateToken(token, false)) {
-            String username = jwtUtil.extractUsername(token, false);
+        if (token != null) {
+            VerifiedToken verified = verify(token);
 
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(
-                            username,
-                            null,
-                            Collections.emptyList() // or load roles if needed
-                    );
+            if (verified != null) {
+                UsernamePasswordAuthenticationToken auth =
+                        new UsernamePasswordAuthenticationToken(
+                                verified.principal(),
+                                null,
+                                verified.authorities()
+                        );
 
-            SecurityContextHolder.getContext().setAuthentication(auth);
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Returns the cached verification result, or verifies the token once and caches it.
+     * Returns null when the token is invalid or expired.
+     */
+    private VerifiedToken verify(String token) {
+        VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified != null) {
+            verificationsByResult[Result.CACHED.ordinal()].increment();
+            return verified;
+        }
+
+        TokenClaims claims;
+        long start = System.nanoTime();
+        try {
+            claims = jwtUtil.parse(token, false);
+        } catch (JwtException | IllegalArgumentException e) {
+            claims = null;
+        }
+        parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // A refresh token is signed the same way but must never authorize a request
+        if (claims == null || !claims.hasIdentityClaims() || !claims.isType(TokenType.ACCESS)) {
+            verificationsByResult[Result.REJECTED.ordinal()].increment();
+            return null;
+        }
+
+        AuthenticatedUser principal = claims.principal();
+        verified = new VerifiedToken(
+                principal,
+                claims.expiresAt(),
+                principal.authorities()
+        );
+        verifiedTokenCache.put(token, verified);
+        verificationsByResult[Result.VERIFIED.ordinal()].increment();
+        return verified;
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.resto_backend.security.jwt;
 
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.security.AuthenticatedUser;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,11 +10,17 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    static final String RESTAURANT_ID_CLAIM = "rid";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_TYPE_CLAIM = "typ";
+
     private final SecretKey key;
+    private final JwtParser parser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
@@ -22,23 +30,31 @@ public class JwtUtil {
             @Value("${jwt.refresh-token-expiration-ms}") long refreshTokenExpiration) {
 
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
     }
 
     /* ===================== TOKEN GENERATION ===================== */
 
-    public String generateAccessToken(String username) {
-        return generateToken(username, accessTokenExpiration);
+    public String generateAccessToken(AuthenticatedUser user) {
+        return generateToken(user, TokenType.ACCESS, accessTokenExpiration);
     }
 
-    public String generateRefreshToken(String username) {
-        return generateToken(username, refreshTokenExpiration);
+    public String generateRefreshToken(AuthenticatedUser user) {
+        return generateToken(user, TokenType.REFRESH, refreshTokenExpiration);
     }
 
-    private String generateToken(String username, long expirationMillis) {
+    private String generateToken(AuthenticatedUser user, TokenType type, long expirationMillis) {
         return Jwts.builder()
-                .setSubject(username)
+                .setId(UUID.randomUUID().toString()) // two tokens issued in the same second must still differ
+                .setSubject(user.username())
+                .claim(RESTAURANT_ID_CLAIM, user.restaurantId())
+                .claim(ROLE_CLAIM, user.role().name())
+                .claim(TOKEN_TYPE_CLAIM, type.name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -47,15 +63,29 @@ public class JwtUtil {
 
     /* ===================== TOKEN PARSING ===================== */
 
-    public String extractUsername(String token, boolean ignoreExpiration) {
-        return extractAllClaims(token, ignoreExpiration).getSubject();
+    /**
+     * Verifies the token once and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, has a bad signature or
+     *                      is expired while {@code ignoreExpiration} is false
+     */
+    public TokenClaims parse(String token, boolean ignoreExpiration) {
+        Claims claims = extractAllClaims(token, ignoreExpiration);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        String type = claims.get(TOKEN_TYPE_CLAIM, String.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.get(RESTAURANT_ID_CLAIM, Long.class),
+                role == null ? null : Role.valueOf(role),
+                type == null ? null : TokenType.valueOf(type),
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
     }
 
     private Claims extractAllClaims(String token, boolean ignoreExpiration) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
+            return parser
                     .parseClaimsJws(token)
                     .getBody();
 
@@ -66,13 +96,4 @@ public class JwtUtil {
             throw e;
         }
     }
-
-    public boolean validateToken(String token, boolean ignoreExpiration) {
-        try {
-            extractAllClaims(token, ignoreExpiration);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
-    }
 }
@@ -0,0 +1,35 @@
+package com.example.resto_backend.security.jwt;
+
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.security.AuthenticatedUser;
+
+import java.time.Instant;
+
+/**
+ * The claims this application reads from its own tokens, extracted in a single parse.
+ */
+public record TokenClaims(String subject,
+                          Long restaurantId,
+                          Role role,
+                          TokenType type,
+                          Instant issuedAt,
+                          Instant expiresAt) {
+
+    /**
+     * Tokens issued before the tenant and role claims were added carry neither.
+     */
+    public boolean hasIdentityClaims() {
+        return restaurantId != null && role != null;
+    }
+
+    /**
+     * Tokens issued before the type claim was added are neither access nor refresh tokens.
+     */
+    public boolean isType(TokenType expected) {
+        return type == expected;
+    }
+
+    public AuthenticatedUser principal() {
+        return new AuthenticatedUser(subject, restaurantId, role);
+    }
+}
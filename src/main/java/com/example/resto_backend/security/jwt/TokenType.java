@@ -0,0 +1,10 @@
+package com.example.resto_backend.security.jwt;
+
+/**
+ * What a token may be used for. Both kinds are signed with the same key, so the type claim
+ * is what keeps a refresh token from being accepted as a bearer token and vice versa.
+ */
+public enum TokenType {
+    ACCESS,
+    REFRESH
+}
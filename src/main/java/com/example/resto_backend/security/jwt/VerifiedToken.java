@@ -0,0 +1,20 @@
+package com.example.resto_backend.security.jwt;
+
+import com.example.resto_backend.security.AuthenticatedUser;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a successful signature and expiry check, kept so the same token
+ * does not have to be verified again.
+ */
+public record VerifiedToken(AuthenticatedUser principal,
+                            Instant expiresAt,
+                            List<GrantedAuthority> authorities) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.resto_backend.service;
+
+import java.util.Locale;
+
+/**
+ * Account rules shared by registration and staff creation, so both report the same messages.
+ */
+final class AccountValidator {
+
+    private static final int MIN_USERNAME_LENGTH = 6;
+    private static final int MIN_PASSWORD_LENGTH = 6;
+    private static final String EMAIL_DOMAIN = "@gmail.com";
+
+    private AccountValidator() {}
+
+    /**
+     * @return the reason the account is refused, or an empty string when it is valid
+     */
+    static String validate(String username, String password, String email) {
+        if (username == null || password == null || email == null) {
+            return "Username, password and email are required";
+        }
+
+        String error = "";
+
+        // Validation: minimum username length
+        if (username.length() < MIN_USERNAME_LENGTH) {
+            error = "Username must be at least " + MIN_USERNAME_LENGTH + " characters long";
+        }
+
+        // Validation: minimum password length
+        if (password.length() < MIN_PASSWORD_LENGTH) {
+            error = "Password must be at least " + MIN_PASSWORD_LENGTH + " characters long";
+        }
+
+        // Validation: only Gmail addresses
+        if (!normalizeEmail(email).endsWith(EMAIL_DOMAIN)) {
+            error = "Only Gmail addresses are allowed";
+        }
+
+        return error;
+    }
+
+    /**
+     * Emails are compared case-insensitively
+     */
+    static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,38 +2,108 @@ package com.example.resto_backend.service;
 
 import com.example.resto_backend.entity.Restaurant;
 import com.example.resto_backend.exception.InvalidUsernameOrPasswordException;
+import com.example.resto_backend.exception.ServiceBusyException;
+import com.example.resto_backend.exception.TooManyLoginAttemptsException;
 import com.example.resto_backend.model.LoginRequest;
 import com.example.resto_backend.model.RegisterRequest;
 import com.example.resto_backend.entity.User;
 import com.example.resto_backend.model.Role;
 import com.example.resto_backend.repository.RestaurantRepository;
 import com.example.resto_backend.repository.UserRepository;
+import com.example.resto_backend.security.LoginRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
     private final RestaurantRepository restaurantRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginRateLimiter loginRateLimiter;
+
+    private final Timer lookupTimer;
+    private final Timer passwordTimer;
+    private final Counter succeeded;
+    private final Counter unknownUser;
+    private final Counter badPassword;
 
     public AuthService(UserRepository userRepository,
                        RestaurantRepository restaurantRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordHashingService passwordHashingService,
+                       LoginRateLimiter loginRateLimiter,
+                       MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.restaurantRepository = restaurantRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.loginRateLimiter = loginRateLimiter;
+
+        this.lookupTimer = Timer.builder("auth.authenticate.lookup")
+                .description("User lookup during login")
+                .register(meterRegistry);
+        this.passwordTimer = Timer.builder("auth.authenticate.password")
+                .description("Password check during login, including the wait for a hashing thread")
+                .register(meterRegistry);
+        this.succeeded = authenticateCounter(meterRegistry, "success");
+        this.unknownUser = authenticateCounter(meterRegistry, "unknown_user");
+        this.badPassword = authenticateCounter(meterRegistry, "bad_password");
+    }
+
+    private static Counter authenticateCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.authenticate")
+                .description("Login attempts by result")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     public User authenticate(LoginRequest request) throws Exception {
-        User user = userRepository.findByUsername(request.username)
-                .orElseThrow(() -> new InvalidUsernameOrPasswordException("Invalid username or password"));
+        // Checked before the lookup and the hash, so a guessed account costs nothing past its limit
+        long wait = loginRateLimiter.acquireForUsername(request.username);
+        if (wait > 0) {
+            throw new TooManyLoginAttemptsException(LoginRateLimiter.retryAfterSeconds(wait));
+        }
+
+        long start = System.nanoTime();
+        Optional<User> found = userRepository.findByUsername(request.username);
+        long lookedUp = System.nanoTime();
+        lookupTimer.record(lookedUp - start, TimeUnit.NANOSECONDS);
+
+        if (found.isEmpty()) {
+            unknownUser.increment();
+            throw new InvalidUsernameOrPasswordException("Invalid username or password");
+        }
+        User user = found.get();
+
+        boolean matches = passwordHashingService.matches(request.password, user.getPassword());
+        passwordTimer.record(System.nanoTime() - lookedUp, TimeUnit.NANOSECONDS);
 
-        if (!passwordEncoder.matches(request.password, user.getPassword())) {
+        if (!matches) {
+            badPassword.increment();
             throw new InvalidUsernameOrPasswordException("Invalid username or password");
         }
+        succeeded.increment();
+
+        // Transparently move outdated hashes to the current scheme and cost; best effort,
+        // the password is already verified so a busy hashing pool must not fail the login
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            try {
+                String upgraded = passwordHashingService.encode(request.password);
+                user.setPassword(upgraded);
+                user = userRepository.save(user);
+            } catch (ServiceBusyException e) {
+                log.debug("Hashing pool busy, password rehash for {} deferred to the next login", user.getUsername());
+            }
+        }
 
         return user;
     }
@@ -49,28 +119,13 @@ public class AuthService {
     }
 
     private void validateRequest(RegisterRequest req) throws IllegalArgumentException {
-        String error = "";
-
-        // Validation: minimum password length
-        if (req.getUsername().length() < 6) {
-            error = "Username must be at least 6 characters long";
-        }
-
-        // Validation: minimum password length
-        if (req.getPassword().length() < 6) {
-            error = "Password must be at least 6 characters long";
-        }
+        String error = AccountValidator.validate(req.getUsername(), req.getPassword(), req.getEmail());
 
         // Validation: password confirmation
-        if (!req.getPassword().equals(req.getConfirmPassword())) {
+        if (error.isEmpty() && !req.getPassword().equals(req.getConfirmPassword())) {
             error = "Passwords do not match";
         }
 
-        // Validation: only Gmail addresses
-        if (!req.getEmail().toLowerCase().endsWith("@gmail.com")) {
-            error = "Only Gmail addresses are allowed";
-        }
-
         if(!error.isEmpty()) {
             throw new IllegalArgumentException(error);
         }
@@ -87,7 +142,7 @@ public class AuthService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setRole(Role.OWNER);
         user.setRestaurant(restaurant);
         return user;
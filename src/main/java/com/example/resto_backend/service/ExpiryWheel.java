@@ -0,0 +1,61 @@
+package com.example.resto_backend.service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Hashed timing wheel of keys bucketed by expiry time. Each tick only visits the
+ * buckets that became due since the previous tick instead of scanning every key.
+ * Keys whose expiry is more than one revolution away simply survive the visit.
+ */
+final class ExpiryWheel<K> {
+
+    private final Set<K>[] slots;
+    private final long tickMillis;
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    ExpiryWheel(int slotCount, long tickMillis, Instant now) {
+        this.slots = new Set[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.tickMillis = tickMillis;
+        this.lastTick = tickOf(now);
+    }
+
+    void schedule(K key, Instant expiry) {
+        slots[slotOf(tickOf(expiry))].add(key);
+    }
+
+    /**
+     * Visits every key in the buckets that became due up to {@code now}. The predicate
+     * returns true when the key can be dropped from the wheel (expired or already gone).
+     * Must only be called from one thread at a time.
+     */
+    void advance(Instant now, Predicate<K> expire) {
+        long nowTick = tickOf(now);
+        long from = Math.max(lastTick, nowTick - slots.length + 1);
+
+        for (long tick = from; tick <= nowTick; tick++) {
+            Iterator<K> keys = slots[slotOf(tick)].iterator();
+            while (keys.hasNext()) {
+                if (expire.test(keys.next())) {
+                    keys.remove();
+                }
+            }
+        }
+        lastTick = nowTick;
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+}
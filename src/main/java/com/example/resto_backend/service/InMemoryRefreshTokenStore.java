@@ -0,0 +1,197 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.repository.RefreshTokenRepository;
+import com.example.resto_backend.security.TokenDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps login sessions in memory, indexed by token digest and by user id, so validation
+ * and rotation never touch the database. Changes are persisted by {@link RefreshTokenWriteBehind}
+ * and active sessions are loaded back on startup.
+ * <p>
+ * Sessions live in this process only: with several instances behind a load balancer use
+ * {@code refresh-token.store=jpa} instead.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<ByteBuffer, Session> byHash = new ConcurrentHashMap<>();
+    /**
+     * Token digest per device for each user. The inner maps are only touched inside
+     * {@code byUser.compute*}, which serializes all changes to one user's sessions.
+     */
+    private final Map<Long, Map<String, ByteBuffer>> byUser = new ConcurrentHashMap<>();
+    private final ExpiryWheel<ByteBuffer> expiryWheel;
+    private final RefreshTokenWriteBehind writeBehind;
+    private final int maxSessionsPerUser;
+
+    public InMemoryRefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+                                     RefreshTokenWriteBehind writeBehind,
+                                     @Value("${refresh-token.max-sessions-per-user:5}") int maxSessionsPerUser,
+                                     @Value("${refresh-token.expiry-wheel.slots:1024}") int wheelSlots,
+                                     @Value("${refresh-token.expiry-wheel.tick-ms:60000}") long wheelTickMs) {
+        this.writeBehind = writeBehind;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+
+        Instant now = Instant.now();
+        this.expiryWheel = new ExpiryWheel<>(wheelSlots, wheelTickMs, now);
+
+        for (RefreshTokenRepository.ActiveToken active : refreshTokenRepository.findAllActive(now)) {
+            Session session = new Session(ByteBuffer.wrap(active.getTokenHash()), active.getUserId(),
+                    active.getUsername(), active.getDeviceId(), active.getExpiryDate(), active.getLastUsedAt());
+
+            byUser.compute(session.userId(), (userId, devices) -> {
+                devices = devices == null ? new HashMap<>() : devices;
+                devices.put(session.deviceId(), session.hash());
+                byHash.put(session.hash(), session);
+                return devices;
+            });
+            expiryWheel.schedule(session.hash(), session.expiryDate());
+        }
+    }
+
+    @Override
+    public void save(User user, String deviceId, String token, Instant expiryDate) {
+        Instant now = Instant.now();
+        Session session = new Session(TokenDigest.key(token), user.getId(), user.getUsername(),
+                deviceId, expiryDate, now);
+
+        byUser.compute(user.getId(), (userId, devices) -> {
+            devices = devices == null ? new HashMap<>() : devices;
+
+            ByteBuffer previous = devices.put(deviceId, session.hash());
+            if (previous != null) {
+                byHash.remove(previous);
+            }
+            byHash.put(session.hash(), session);
+
+            while (devices.size() > maxSessionsPerUser) {
+                evictLeastRecentlyUsed(devices);
+            }
+            return devices;
+        });
+        expiryWheel.schedule(session.hash(), expiryDate);
+
+        writeBehind.saveSession(user.getId(), deviceId, session.hash().array(), expiryDate, now);
+    }
+
+    @Override
+    public boolean isValid(String username, String token) {
+        Session session = byHash.get(TokenDigest.key(token));
+
+        return session != null
+                && session.username().equals(username)
+                && session.expiryDate().isAfter(Instant.now());
+    }
+
+    @Override
+    public boolean rotate(String username, String oldToken, String newToken, Instant expiryDate) {
+        Instant now = Instant.now();
+        ByteBuffer oldHash = TokenDigest.key(oldToken);
+        Session current = byHash.get(oldHash);
+
+        if (current == null || !current.username().equals(username) || !current.expiryDate().isAfter(now)) {
+            return false;
+        }
+
+        Session next = new Session(TokenDigest.key(newToken), current.userId(), username,
+                current.deviceId(), expiryDate, now);
+        boolean[] rotated = {false};
+
+        byUser.computeIfPresent(current.userId(), (userId, devices) -> {
+            // A concurrent rotation or logout may already have replaced the old token
+            if (oldHash.equals(devices.get(current.deviceId()))) {
+                devices.put(current.deviceId(), next.hash());
+                byHash.remove(oldHash);
+                byHash.put(next.hash(), next);
+                rotated[0] = true;
+            }
+            return devices;
+        });
+
+        if (rotated[0]) {
+            expiryWheel.schedule(next.hash(), expiryDate);
+            writeBehind.saveSession(next.userId(), next.deviceId(), next.hash().array(), expiryDate, now);
+        }
+        return rotated[0];
+    }
+
+    @Override
+    public void delete(String token) {
+        Session session = byHash.get(TokenDigest.key(token));
+        if (session == null) {
+            return;
+        }
+
+        byUser.computeIfPresent(session.userId(), (userId, devices) -> {
+            devices.remove(session.deviceId(), session.hash());
+            byHash.remove(session.hash(), session);
+            return devices.isEmpty() ? null : devices;
+        });
+        writeBehind.deleteSession(session.userId(), session.deviceId());
+    }
+
+    /**
+     * Drops expired sessions from memory. The database rows are left to the expiry purge.
+     */
+    @Scheduled(fixedRateString = "${refresh-token.expiry-wheel.tick-ms:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        expiryWheel.advance(now, hash -> {
+            Session session = byHash.get(hash);
+            if (session == null) {
+                return true;
+            }
+            if (session.expiryDate().isAfter(now)) {
+                return false;
+            }
+            byUser.computeIfPresent(session.userId(), (userId, devices) -> {
+                devices.remove(session.deviceId(), hash);
+                byHash.remove(hash, session);
+                return devices.isEmpty() ? null : devices;
+            });
+            return true;
+        });
+    }
+
+    private void evictLeastRecentlyUsed(Map<String, ByteBuffer> devices) {
+        String oldestDevice = null;
+        Session oldest = null;
+
+        for (Map.Entry<String, ByteBuffer> device : devices.entrySet()) {
+            Session session = byHash.get(device.getValue());
+            if (oldest == null || session == null || session.lastUsedAt().isBefore(oldest.lastUsedAt())) {
+                oldestDevice = device.getKey();
+                oldest = session;
+                if (session == null) {
+                    break;
+                }
+            }
+        }
+
+        devices.remove(oldestDevice);
+        if (oldest != null) {
+            byHash.remove(oldest.hash());
+            writeBehind.deleteSession(oldest.userId(), oldestDevice);
+        }
+    }
+
+    private record Session(ByteBuffer hash,
+                           Long userId,
+                           String username,
+                           String deviceId,
+                           Instant expiryDate,
+                           Instant lastUsedAt) {
+    }
+}
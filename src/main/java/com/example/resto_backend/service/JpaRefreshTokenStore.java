@@ -0,0 +1,75 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.RefreshToken;
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.repository.RefreshTokenRepository;
+import com.example.resto_backend.security.TokenDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reads and writes refresh tokens straight through to the database.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "jpa")
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int maxSessionsPerUser;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+                                @Value("${refresh-token.max-sessions-per-user:5}") int maxSessionsPerUser) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+    }
+
+    @Override
+    @Transactional
+    public void save(User user, String deviceId, String token, Instant expiryDate) {
+        byte[] tokenHash = TokenDigest.sha256(token);
+        Instant now = Instant.now();
+
+        if (refreshTokenRepository.updateSession(user.getId(), deviceId, tokenHash, expiryDate, now) == 0) {
+            RefreshToken refreshToken = new RefreshToken();
+            refreshToken.setUser(user);
+            refreshToken.setDeviceId(deviceId);
+            refreshToken.setTokenHash(tokenHash);
+            refreshToken.setExpiryDate(expiryDate);
+            refreshToken.setLastUsedAt(now);
+            refreshTokenRepository.save(refreshToken);
+        }
+
+        List<Long> sessionIds = refreshTokenRepository.findSessionIdsMostRecentFirst(user.getId());
+        if (sessionIds.size() > maxSessionsPerUser) {
+            refreshTokenRepository.deleteAllByIdInBatch(sessionIds.subList(maxSessionsPerUser, sessionIds.size()));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isValid(String username, String token) {
+        return refreshTokenRepository.existsValid(TokenDigest.sha256(token), username, Instant.now());
+    }
+
+    @Override
+    @Transactional
+    public boolean rotate(String username, String oldToken, String newToken, Instant expiryDate) {
+        return refreshTokenRepository.rotate(
+                TokenDigest.sha256(oldToken),
+                TokenDigest.sha256(newToken),
+                username,
+                expiryDate,
+                Instant.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void delete(String token) {
+        refreshTokenRepository.deleteByTokenHash(TokenDigest.sha256(token));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.event.OrderPlacedEvent;
+import com.example.resto_backend.model.KitchenTicket;
+import com.example.resto_backend.model.OrderView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits placed orders into one ticket per kitchen station and keeps the unacknowledged
+ * tickets of every (restaurant, station) in its own queue. Displays subscribe per station:
+ * they first receive the pending tickets, then each new ticket as it is routed, and see
+ * tickets disappear when any display of the station acknowledges them.
+ * <p>
+ * Queues are lock-free (skip list keyed by ticket id), so routing for one station never
+ * waits on another restaurant or station. Each queue is bounded; beyond the bound the
+ * oldest ticket is dropped and counted.
+ */
+@Component
+public class KitchenTicketRouter {
+
+    private final Map<StationKey, StationQueue> stations = new ConcurrentHashMap<>();
+    private final AtomicLong ticketIds = new AtomicLong();
+
+    private final SseHub<StationKey> hub;
+    private final ObjectMapper objectMapper;
+    private final Counter dropped;
+    private final int maxPendingPerStation;
+
+    private record StationKey(Long restaurantId, String station) {
+    }
+
+    private record Acknowledged(Long id) {
+    }
+
+    public KitchenTicketRouter(ObjectMapper objectMapper,
+                               @Qualifier("kitchenSseSenderExecutor") ThreadPoolExecutor sseSenderExecutor,
+                               MeterRegistry meterRegistry,
+                               @Value("${kitchen.max-pending-per-station:1000}") int maxPendingPerStation,
+                               @Value("${sse.buffer-size:64}") int bufferSize,
+                               @Value("${sse.max-subscribers:10000}") int maxSubscribers,
+                               @Value("${sse.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${sse.write-timeout-ms:5000}") long writeTimeoutMs,
+                               @Value("${sse.max-stalled-writes:32}") int maxStalledWrites) {
+        this.objectMapper = objectMapper;
+        this.maxPendingPerStation = maxPendingPerStation;
+        this.hub = new SseHub<>("kitchen", bufferSize, maxSubscribers, timeoutMs, sseSenderExecutor,
+                writeTimeoutMs, maxStalledWrites, meterRegistry);
+        this.dropped = Counter.builder("kitchen.tickets.dropped")
+                .description("Unacknowledged tickets dropped because their station queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs on the order intake thread right after the order is committed
+     */
+    @EventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        route(event.restaurantId(), event.order());
+    }
+
+    public List<KitchenTicket> route(Long restaurantId, OrderView order) {
+        Map<String, List<KitchenTicket.Line>> linesByStation = new LinkedHashMap<>();
+        for (OrderView.Line line : order.lines()) {
+            linesByStation.computeIfAbsent(line.station(), station -> new ArrayList<>())
+                    .add(new KitchenTicket.Line(line.name(), line.quantity()));
+        }
+
+        List<KitchenTicket> tickets = new ArrayList<>(linesByStation.size());
+        linesByStation.forEach((station, lines) -> {
+            KitchenTicket ticket = new KitchenTicket(ticketIds.incrementAndGet(), order.id(), station,
+                    order.note(), order.placedBy(), order.createdAt(), List.copyOf(lines));
+            StationKey key = new StationKey(restaurantId, station);
+
+            stations.computeIfAbsent(key, k -> new StationQueue()).add(ticket);
+            if (hub.hasSubscribers(key)) {
+                hub.publish(key, SseEmitter.event()
+                        .id(ticket.id().toString())
+                        .name("ticket")
+                        .data(json(ticket), MediaType.APPLICATION_JSON));
+            }
+            tickets.add(ticket);
+        });
+        return tickets;
+    }
+
+    public List<KitchenTicket> pending(Long restaurantId, String station) {
+        StationQueue queue = stations.get(new StationKey(restaurantId, station));
+        return queue == null ? List.of() : List.copyOf(queue.pending.values());
+    }
+
+    /**
+     * The first event, "tickets", lists every pending ticket of the station
+     */
+    public SseEmitter subscribe(Long restaurantId, String station) {
+        return hub.subscribe(new StationKey(restaurantId, station), () -> SseEmitter.event()
+                .name("tickets")
+                .data(json(pending(restaurantId, station)), MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * @return false when the ticket is unknown or was already acknowledged by another display
+     */
+    public boolean acknowledge(Long restaurantId, String station, Long ticketId) {
+        StationKey key = new StationKey(restaurantId, station);
+        StationQueue queue = stations.get(key);
+        if (queue == null || !queue.remove(ticketId)) {
+            return false;
+        }
+
+        hub.publish(key, SseEmitter.event()
+                .id(ticketId.toString())
+                .name("acknowledged")
+                .data(json(new Acknowledged(ticketId)), MediaType.APPLICATION_JSON));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}", initialDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        hub.heartbeat();
+    }
+
+    @Scheduled(fixedDelayString = "${sse.stall-check-ms:1000}")
+    public void evictStalled() {
+        hub.evictStalled();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize kitchen event", e);
+        }
+    }
+
+    private final class StationQueue {
+
+        private final ConcurrentSkipListMap<Long, KitchenTicket> pending = new ConcurrentSkipListMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(KitchenTicket ticket) {
+            pending.put(ticket.id(), ticket);
+            if (size.incrementAndGet() > maxPendingPerStation && pending.pollFirstEntry() != null) {
+                size.decrementAndGet();
+                dropped.increment();
+            }
+        }
+
+        boolean remove(Long ticketId) {
+            if (pending.remove(ticketId) == null) {
+                return false;
+            }
+            size.decrementAndGet();
+            return true;
+        }
+    }
+}
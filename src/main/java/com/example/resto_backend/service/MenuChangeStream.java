@@ -0,0 +1,80 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.event.MenuChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Streams committed menu changes to each restaurant's subscribers as incremental diffs.
+ * Every event id is the menu ETag after the change; a reconnecting client resynchronizes
+ * with a conditional GET of the menu using the last id it saw.
+ */
+@Component
+public class MenuChangeStream {
+
+    private final SseHub<Long> hub;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions resourceVersions;
+
+    public MenuChangeStream(ObjectMapper objectMapper,
+                            ResourceVersions resourceVersions,
+                            @Qualifier("menuSseSenderExecutor") ThreadPoolExecutor sseSenderExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${sse.buffer-size:64}") int bufferSize,
+                            @Value("${sse.max-subscribers:10000}") int maxSubscribers,
+                            @Value("${sse.timeout-ms:1800000}") long timeoutMs,
+                            @Value("${sse.write-timeout-ms:5000}") long writeTimeoutMs,
+                            @Value("${sse.max-stalled-writes:32}") int maxStalledWrites) {
+        this.objectMapper = objectMapper;
+        this.resourceVersions = resourceVersions;
+        this.hub = new SseHub<>("menu", bufferSize, maxSubscribers, timeoutMs, sseSenderExecutor,
+                writeTimeoutMs, maxStalledWrites, meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long restaurantId) {
+        return hub.subscribe(restaurantId, () -> SseEmitter.event()
+                .id(resourceVersions.etag(ResourceVersions.Resource.MENU, restaurantId))
+                .name("ready")
+                .data(""));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (!hub.hasSubscribers(event.restaurantId())) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event.diff());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu change " + event.type(), e);
+        }
+
+        hub.publish(event.restaurantId(), SseEmitter.event()
+                .id(resourceVersions.etag(ResourceVersions.Resource.MENU, event.restaurantId()))
+                .name(event.type().eventName())
+                .data(json, MediaType.APPLICATION_JSON));
+    }
+
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}", initialDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        hub.heartbeat();
+    }
+
+    @Scheduled(fixedDelayString = "${sse.stall-check-ms:1000}")
+    public void evictStalled() {
+        hub.evictStalled();
+    }
+}
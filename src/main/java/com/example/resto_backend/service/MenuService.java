@@ -0,0 +1,177 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.MenuCategory;
+import com.example.resto_backend.entity.MenuItem;
+import com.example.resto_backend.event.MenuChangedEvent;
+import com.example.resto_backend.exception.ResourceNotFoundException;
+import com.example.resto_backend.model.MenuCategoryRequest;
+import com.example.resto_backend.model.MenuItemRequest;
+import com.example.resto_backend.model.MenuView;
+import com.example.resto_backend.model.Station;
+import com.example.resto_backend.repository.MenuCategoryRepository;
+import com.example.resto_backend.repository.MenuItemRepository;
+import com.example.resto_backend.repository.RestaurantRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Menu writes, scoped to the caller's restaurant. Each write publishes a
+ * {@link MenuChangedEvent} so the menu snapshot is rebuilt after commit.
+ */
+@Service
+public class MenuService {
+
+    private final MenuCategoryRepository menuCategoryRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MenuService(MenuCategoryRepository menuCategoryRepository,
+                       MenuItemRepository menuItemRepository,
+                       RestaurantRepository restaurantRepository,
+                       ApplicationEventPublisher eventPublisher) {
+        this.menuCategoryRepository = menuCategoryRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /* ===================== CATEGORIES ===================== */
+
+    @Transactional
+    public MenuView.Category createCategory(Long restaurantId, MenuCategoryRequest request) {
+        validate(request);
+
+        MenuCategory category = new MenuCategory();
+        category.setRestaurant(restaurantRepository.getReferenceById(restaurantId));
+        apply(category, request);
+
+        MenuView.Category view = MenuView.Category.of(menuCategoryRepository.save(category), List.of());
+        changed(restaurantId, MenuChangedEvent.Type.CATEGORY_SAVED, view);
+        return view;
+    }
+
+    @Transactional
+    public MenuView.Category updateCategory(Long restaurantId, Long categoryId, MenuCategoryRequest request) {
+        validate(request);
+
+        MenuCategory category = findCategory(restaurantId, categoryId);
+        apply(category, request);
+
+        MenuView.Category view = MenuView.Category.of(category, List.of());
+        changed(restaurantId, MenuChangedEvent.Type.CATEGORY_SAVED, view);
+        return view;
+    }
+
+    @Transactional
+    public void deleteCategory(Long restaurantId, Long categoryId) {
+        MenuCategory category = findCategory(restaurantId, categoryId);
+
+        menuItemRepository.deleteAllByCategoryId(category.getId());
+        menuCategoryRepository.delete(category);
+        changed(restaurantId, MenuChangedEvent.Type.CATEGORY_DELETED, new MenuView.Deleted(categoryId));
+    }
+
+    /* ===================== ITEMS ===================== */
+
+    @Transactional
+    public MenuView.Item createItem(Long restaurantId, MenuItemRequest request) {
+        validate(request);
+
+        MenuItem item = new MenuItem();
+        item.setRestaurant(restaurantRepository.getReferenceById(restaurantId));
+        apply(restaurantId, item, request);
+
+        MenuView.Item view = MenuView.Item.of(menuItemRepository.save(item));
+        changed(restaurantId, MenuChangedEvent.Type.ITEM_SAVED, view);
+        return view;
+    }
+
+    @Transactional
+    public MenuView.Item updateItem(Long restaurantId, Long itemId, MenuItemRequest request) {
+        validate(request);
+
+        MenuItem item = findItem(restaurantId, itemId);
+        apply(restaurantId, item, request);
+
+        MenuView.Item view = MenuView.Item.of(item);
+        changed(restaurantId, MenuChangedEvent.Type.ITEM_SAVED, view);
+        return view;
+    }
+
+    @Transactional
+    public MenuView.Item setAvailability(Long restaurantId, Long itemId, boolean available) {
+        MenuItem item = findItem(restaurantId, itemId);
+        item.setAvailable(available);
+
+        changed(restaurantId, MenuChangedEvent.Type.ITEM_AVAILABILITY, new MenuView.Availability(itemId, available));
+        return MenuView.Item.of(item);
+    }
+
+    @Transactional
+    public void deleteItem(Long restaurantId, Long itemId) {
+        menuItemRepository.delete(findItem(restaurantId, itemId));
+        changed(restaurantId, MenuChangedEvent.Type.ITEM_DELETED, new MenuView.Deleted(itemId));
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private MenuCategory findCategory(Long restaurantId, Long categoryId) {
+        return menuCategoryRepository.findByIdAndRestaurantId(categoryId, restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu category not found"));
+    }
+
+    private MenuItem findItem(Long restaurantId, Long itemId) {
+        return menuItemRepository.findByIdAndRestaurantId(itemId, restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
+    }
+
+    private void apply(MenuCategory category, MenuCategoryRequest request) {
+        category.setName(request.getName().trim());
+        category.setSortOrder(request.getSortOrder() == null ? 0 : request.getSortOrder());
+    }
+
+    private void apply(Long restaurantId, MenuItem item, MenuItemRequest request) {
+        item.setCategory(findCategory(restaurantId, request.getCategoryId()));
+        item.setName(request.getName().trim());
+        item.setDescription(request.getDescription());
+        item.setPrice(request.getPrice());
+        item.setAvailable(request.getAvailable() == null || request.getAvailable());
+        item.setStation(Station.normalize(request.getStation()));
+        item.setSortOrder(request.getSortOrder() == null ? 0 : request.getSortOrder());
+    }
+
+    private void validate(MenuCategoryRequest request) throws IllegalArgumentException {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Category name is required");
+        }
+    }
+
+    private void validate(MenuItemRequest request) throws IllegalArgumentException {
+        String error = "";
+
+        if (request.getCategoryId() == null) {
+            error = "Category is required";
+        }
+
+        if (request.getName() == null || request.getName().isBlank()) {
+            error = "Item name is required";
+        }
+
+        if (request.getPrice() == null || request.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            error = "Price must be zero or more";
+        }
+
+        if (!error.isEmpty()) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private void changed(Long restaurantId, MenuChangedEvent.Type type, Object diff) {
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId, type, diff));
+    }
+}
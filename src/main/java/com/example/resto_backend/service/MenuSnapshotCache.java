@@ -0,0 +1,193 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.event.MenuChangedEvent;
+import com.example.resto_backend.model.MenuView;
+import com.example.resto_backend.repository.MenuCategoryRepository;
+import com.example.resto_backend.repository.MenuItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, pre-serialized menu per restaurant. A menu read is a map lookup returning
+ * ready JSON bytes; the snapshot is rebuilt once after each committed menu write and
+ * tagged with the menu version it was built for. Concurrent callers share a single
+ * rebuild per restaurant instead of each reading the menu.
+ * <p>
+ * Versions are per process (see {@link ResourceVersions}), so an instance only sees its
+ * own writes right away. Snapshots are re-read after {@code menu-cache.ttl-ms} as well,
+ * by one caller while the others keep serving the old snapshot, and a re-read that finds
+ * different content moves to a new version. That bounds how long another instance's write
+ * can go unnoticed.
+ */
+@Component
+public class MenuSnapshotCache {
+
+    /**
+     * @param json callers must not modify the array
+     */
+    public record Snapshot(String etag, byte[] json, long version, long builtAt) {
+    }
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Snapshot>> rebuilds = new ConcurrentHashMap<>();
+
+    private final MenuCategoryRepository menuCategoryRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate readTransaction;
+    private final long ttlNanos;
+
+    public MenuSnapshotCache(MenuCategoryRepository menuCategoryRepository,
+                             MenuItemRepository menuItemRepository,
+                             ObjectMapper objectMapper,
+                             ResourceVersions resourceVersions,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${menu-cache.ttl-ms:60000}") long ttlMs) {
+        this.menuCategoryRepository = menuCategoryRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.objectMapper = objectMapper;
+        this.resourceVersions = resourceVersions;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    public Snapshot get(Long restaurantId) {
+        while (true) {
+            Snapshot snapshot = snapshots.get(restaurantId);
+            long version = resourceVersions.current(ResourceVersions.Resource.MENU, restaurantId);
+
+            if (snapshot != null && snapshot.version() >= version) {
+                if (System.nanoTime() - snapshot.builtAt() < ttlNanos) {
+                    return snapshot;
+                }
+                // Past the TTL: one caller re-reads the menu, the others keep serving this snapshot
+                Snapshot refreshed = rebuild(restaurantId, snapshot, false);
+                return refreshed != null ? refreshed : snapshot;
+            }
+
+            // Missing, or older than a write committed here: wait for a rebuild that covers it
+            Snapshot rebuilt = rebuild(restaurantId, snapshot, true);
+            if (rebuilt.version() >= version) {
+                return rebuilt;
+            }
+        }
+    }
+
+    /**
+     * Runs before other after-commit menu listeners, so they observe the new version
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMenuChanged(MenuChangedEvent event) {
+        resourceVersions.bump(ResourceVersions.Resource.MENU, event.restaurantId());
+        get(event.restaurantId());
+    }
+
+    /**
+     * Rebuilds the snapshot once for all concurrent callers of a restaurant. When another
+     * rebuild is already running, returns its result, or null right away if {@code wait} is false.
+     */
+    private Snapshot rebuild(Long restaurantId, Snapshot previous, boolean wait) {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = rebuilds.putIfAbsent(restaurantId, mine);
+        if (running != null) {
+            return wait ? await(running) : null;
+        }
+
+        try {
+            Snapshot built = install(refresh(restaurantId, previous), restaurantId);
+            mine.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            rebuilds.remove(restaurantId, mine);
+        }
+    }
+
+    private Snapshot refresh(Long restaurantId, Snapshot previous) {
+        // The version is read before the menu, so a snapshot is never older than its tag
+        long version = resourceVersions.current(ResourceVersions.Resource.MENU, restaurantId);
+        byte[] json = read(restaurantId);
+
+        if (previous != null && previous.version() == version && !Arrays.equals(json, previous.json())) {
+            // Changed by another instance; a new version gives it a new ETag
+            version = resourceVersions.bump(ResourceVersions.Resource.MENU, restaurantId);
+        }
+        return tag(restaurantId, json, version);
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> rebuild) {
+        try {
+            return rebuild.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Rebuilds started before a newer version may finish after it, so the highest version
+     * wins. The rebuild runs outside compute(), which would hold the map's bin monitor
+     * across the JDBC reads, pinning a virtual thread to its carrier while it waits for a
+     * pooled connection.
+     */
+    private Snapshot install(Snapshot built, Long restaurantId) {
+        return snapshots.merge(restaurantId, built,
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+    }
+
+    private Snapshot tag(Long restaurantId, byte[] json, long version) {
+        return new Snapshot(resourceVersions.etag(ResourceVersions.Resource.MENU, restaurantId, version),
+                json, version, System.nanoTime());
+    }
+
+    private byte[] read(Long restaurantId) {
+        MenuView menu = readTransaction.execute(status -> {
+            Map<Long, List<MenuView.Item>> itemsByCategory = menuItemRepository
+                    .findAllByRestaurantIdOrderBySortOrderAscIdAsc(restaurantId)
+                    .stream()
+                    .collect(Collectors.groupingBy(item -> item.getCategory().getId(),
+                            Collectors.mapping(MenuView.Item::of, Collectors.toList())));
+
+            List<MenuView.Category> categories = menuCategoryRepository
+                    .findAllByRestaurantIdOrderBySortOrderAscIdAsc(restaurantId)
+                    .stream()
+                    .map(category -> MenuView.Category.of(category,
+                            itemsByCategory.getOrDefault(category.getId(), List.of())))
+                    .toList();
+
+            return new MenuView(restaurantId, categories);
+        });
+
+        try {
+            return objectMapper.writeValueAsBytes(menu);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu of restaurant " + restaurantId, e);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.MenuItem;
+import com.example.resto_backend.entity.Order;
+import com.example.resto_backend.entity.OrderLine;
+import com.example.resto_backend.event.OrderPlacedEvent;
+import com.example.resto_backend.exception.ServiceBusyException;
+import com.example.resto_backend.model.OrderView;
+import com.example.resto_backend.model.PlaceOrderRequest;
+import com.example.resto_backend.repository.MenuItemRepository;
+import com.example.resto_backend.repository.OrderRepository;
+import com.example.resto_backend.repository.RestaurantRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group commit of placed orders. Request threads enqueue a draft and wait on its future;
+ * a single writer thread takes whatever has queued up while the previous batch was being
+ * written, resolves all menu items of the batch with one query and inserts the batch in
+ * one transaction using JDBC batching. Under load batches grow, so the per-order cost of
+ * the round trips and the commit falls.
+ */
+@Component
+public class OrderIntake {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntake.class);
+
+    private final BlockingQueue<Draft> queue;
+
+    private final OrderRepository orderRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DistributionSummary batchSizes;
+    private final int batchSize;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    /**
+     * An order as submitted, completed with the persisted order or the reason it was refused.
+     * The result is a replay when the idempotency key was already stored with another order.
+     */
+    public record Draft(Long restaurantId,
+                        String idempotencyKey,
+                        String placedBy,
+                        String note,
+                        List<PlaceOrderRequest.Line> lines,
+                        Instant createdAt,
+                        CompletableFuture<OrderService.Placed> result) {
+    }
+
+    public OrderIntake(OrderRepository orderRepository,
+                       MenuItemRepository menuItemRepository,
+                       RestaurantRepository restaurantRepository,
+                       PlatformTransactionManager transactionManager,
+                       ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry,
+                       @Value("${orders.intake.queue-capacity:10000}") int queueCapacity,
+                       @Value("${orders.intake.batch-size:200}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.batchSizes = DistributionSummary.builder("orders.intake.batch_size")
+                .description("Orders written per transaction")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new CustomizableThreadFactory("order-intake-").newThread(this::run);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<Draft> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    public void submit(Draft draft) {
+        if (!running || !queue.offer(draft)) {
+            throw new ServiceBusyException();
+        }
+    }
+
+    private void run() {
+        List<Draft> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Draft first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // write() completes every future; never let the writer thread die
+                log.error("Order intake failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Draft> batch) {
+        batchSizes.record(batch.size());
+
+        List<Resolved> resolved = resolve(batch);
+        if (resolved.isEmpty()) {
+            return;
+        }
+
+        List<Order> orders;
+        try {
+            orders = transactionTemplate.execute(status -> persist(resolved));
+        } catch (RuntimeException e) {
+            // One bad order (typically a key already used before a restart) must not fail the others
+            for (Resolved order : resolved) {
+                writeAlone(order);
+            }
+            return;
+        }
+
+        for (int i = 0; i < resolved.size(); i++) {
+            placed(resolved.get(i).draft(), orders.get(i));
+        }
+    }
+
+    private void writeAlone(Resolved resolved) {
+        Draft draft = resolved.draft();
+        Order order;
+        try {
+            order = transactionTemplate.execute(status -> persist(List.of(resolved)).get(0));
+        } catch (DataIntegrityViolationException e) {
+            if (draft.idempotencyKey() == null) {
+                draft.result().completeExceptionally(e);
+                return;
+            }
+            // The key was used before this process saw it, e.g. before a restart
+            orderRepository.findByRestaurantIdAndIdempotencyKey(draft.restaurantId(), draft.idempotencyKey())
+                    .map(stored -> new OrderService.Placed(OrderView.of(stored), true))
+                    .ifPresentOrElse(draft.result()::complete, () -> draft.result().completeExceptionally(e));
+            return;
+        } catch (RuntimeException e) {
+            log.error("Failed to persist order of restaurant {}", draft.restaurantId(), e);
+            draft.result().completeExceptionally(e);
+            return;
+        }
+
+        placed(draft, order);
+    }
+
+    /**
+     * Runs after commit. Listeners must not be able to fail an order that is already stored.
+     */
+    private void placed(Draft draft, Order order) {
+        OrderView view = OrderView.of(order);
+        draft.result().complete(new OrderService.Placed(view, false));
+        try {
+            eventPublisher.publishEvent(new OrderPlacedEvent(draft.restaurantId(), view));
+        } catch (RuntimeException e) {
+            log.error("Order placed listener failed for order {}", view.id(), e);
+        }
+    }
+
+    /**
+     * Prices every line from the current menu; drafts with unknown or unavailable items fail alone
+     */
+    private List<Resolved> resolve(List<Draft> batch) {
+        Set<Long> menuItemIds = new HashSet<>();
+        for (Draft draft : batch) {
+            for (PlaceOrderRequest.Line line : draft.lines()) {
+                menuItemIds.add(line.getMenuItemId());
+            }
+        }
+
+        Map<Long, MenuItem> menuItems;
+        try {
+            menuItems = menuItemRepository.findAllById(menuItemIds).stream()
+                    .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        } catch (RuntimeException e) {
+            batch.forEach(draft -> draft.result().completeExceptionally(e));
+            return List.of();
+        }
+
+        List<Resolved> resolved = new ArrayList<>(batch.size());
+        for (Draft draft : batch) {
+            try {
+                resolved.add(resolve(draft, menuItems));
+            } catch (IllegalArgumentException e) {
+                draft.result().completeExceptionally(e);
+            }
+        }
+        return resolved;
+    }
+
+    private Resolved resolve(Draft draft, Map<Long, MenuItem> menuItems) throws IllegalArgumentException {
+        List<PricedLine> lines = new ArrayList<>(draft.lines().size());
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (PlaceOrderRequest.Line requested : draft.lines()) {
+            MenuItem menuItem = menuItems.get(requested.getMenuItemId());
+            if (menuItem == null || !menuItem.getRestaurant().getId().equals(draft.restaurantId())) {
+                throw new IllegalArgumentException("Unknown menu item " + requested.getMenuItemId());
+            }
+            if (!menuItem.isAvailable()) {
+                throw new IllegalArgumentException(menuItem.getName() + " is not available");
+            }
+
+            lines.add(new PricedLine(menuItem.getId(), menuItem.getName(), menuItem.getPrice(),
+                    requested.getQuantity(), menuItem.getStation()));
+
+            total = total.add(menuItem.getPrice().multiply(BigDecimal.valueOf(requested.getQuantity())));
+        }
+        return new Resolved(draft, lines, total);
+    }
+
+    private List<Order> persist(List<Resolved> resolved) {
+        List<Order> orders = new ArrayList<>(resolved.size());
+        for (Resolved order : resolved) {
+            orders.add(toEntity(order));
+        }
+        return orderRepository.saveAll(orders);
+    }
+
+    private Order toEntity(Resolved resolved) {
+        Draft draft = resolved.draft();
+
+        Order order = new Order();
+        order.setRestaurant(restaurantRepository.getReferenceById(draft.restaurantId()));
+        order.setIdempotencyKey(draft.idempotencyKey());
+        order.setPlacedBy(draft.placedBy());
+        order.setNote(draft.note());
+        order.setTotal(resolved.total());
+        order.setCreatedAt(draft.createdAt());
+
+        for (PricedLine priced : resolved.lines()) {
+            OrderLine line = new OrderLine();
+            line.setMenuItemId(priced.menuItemId());
+            line.setName(priced.name());
+            line.setUnitPrice(priced.unitPrice());
+            line.setQuantity(priced.quantity());
+            line.setStation(priced.station());
+            order.addLine(line);
+        }
+        return order;
+    }
+
+    private record PricedLine(Long menuItemId, String name, BigDecimal unitPrice, int quantity, String station) {
+    }
+
+    /**
+     * Entities are built per attempt, since a failed batch may have assigned ids already
+     */
+    private record Resolved(Draft draft, List<PricedLine> lines, BigDecimal total) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.exception.IdempotencyKeyReusedException;
+import com.example.resto_backend.exception.ServiceBusyException;
+import com.example.resto_backend.model.Cursor;
+import com.example.resto_backend.model.CursorPage;
+import com.example.resto_backend.model.FieldSelection;
+import com.example.resto_backend.model.OrderView;
+import com.example.resto_backend.model.PlaceOrderRequest;
+import com.example.resto_backend.repository.OrderRepository;
+import com.example.resto_backend.repository.OrderRepositoryImpl;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Order placement with idempotency keys. The first request with a key claims it with a
+ * future; retries with the same key wait on that future instead of submitting again, so a
+ * retry costs a map lookup and never creates a second order. Keys are released when the
+ * order could not be placed. The unique (restaurant, key) constraint covers retries that
+ * arrive after the entry was evicted or the process restarted.
+ * <p>
+ * A key only replays the request it was first used with: each claim keeps a fingerprint of
+ * the lines and note, and a different payload under the same key is rejected with 422.
+ */
+@Service
+public class OrderService {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    private static final int MAX_LINES = 100;
+    private static final int MAX_QUANTITY = 99;
+    private static final int MAX_NOTE_LENGTH = 255;
+
+    private static final List<String> DEFAULT_FIELDS = List.of("id", "status", "placed_by", "total", "created_at");
+
+    private final OrderIntake orderIntake;
+    private final OrderRepository orderRepository;
+    private final ConcurrentMap<IdempotencyKey, Claim> inFlightOrPlaced;
+    private final long timeoutMs;
+
+    public record Placed(OrderView order, boolean replayed) {
+    }
+
+    private record IdempotencyKey(Long restaurantId, String key) {
+    }
+
+    private record Claim(Fingerprint fingerprint, CompletableFuture<Placed> result) {
+    }
+
+    /**
+     * What an order asks for: quantity per menu item, regardless of line order, and the note
+     */
+    private record Fingerprint(Map<Long, Integer> quantities, String note) {
+
+        static Fingerprint of(PlaceOrderRequest request) {
+            Map<Long, Integer> quantities = new TreeMap<>();
+            for (PlaceOrderRequest.Line line : request.getLines()) {
+                quantities.merge(line.getMenuItemId(), line.getQuantity(), Integer::sum);
+            }
+            return new Fingerprint(quantities, normalize(request.getNote()));
+        }
+
+        static Fingerprint of(OrderView order) {
+            Map<Long, Integer> quantities = new TreeMap<>();
+            for (OrderView.Line line : order.lines()) {
+                quantities.merge(line.menuItemId(), line.quantity(), Integer::sum);
+            }
+            return new Fingerprint(quantities, normalize(order.note()));
+        }
+
+        private static String normalize(String note) {
+            return note == null || note.isEmpty() ? "" : note;
+        }
+    }
+
+    public OrderService(OrderIntake orderIntake,
+                        OrderRepository orderRepository,
+                        @Value("${orders.idempotency.max-size:100000}") long maxSize,
+                        @Value("${orders.idempotency.ttl-ms:86400000}") long ttlMs,
+                        @Value("${orders.intake.timeout-ms:5000}") long timeoutMs) {
+        this.orderIntake = orderIntake;
+        this.orderRepository = orderRepository;
+        Cache<IdempotencyKey, Claim> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.inFlightOrPlaced = cache.asMap();
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Placed place(AuthenticatedUser user, String idempotencyKey, PlaceOrderRequest request) {
+        if (idempotencyKey == null) {
+            validate(request);
+            CompletableFuture<Placed> placed = new CompletableFuture<>();
+            orderIntake.submit(draft(user, null, request, placed));
+            return await(placed);
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to "
+                    + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        validate(request);
+
+        IdempotencyKey key = new IdempotencyKey(user.restaurantId(), idempotencyKey);
+        CompletableFuture<Placed> placed = new CompletableFuture<>();
+        Claim claim = new Claim(Fingerprint.of(request), placed);
+        Claim existing = inFlightOrPlaced.putIfAbsent(key, claim);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(claim.fingerprint())) {
+                throw new IdempotencyKeyReusedException();
+            }
+            return new Placed(await(existing.result()).order(), true);
+        }
+
+        try {
+            orderIntake.submit(draft(user, idempotencyKey, request, placed));
+        } catch (RuntimeException e) {
+            inFlightOrPlaced.remove(key, claim);
+            throw e;
+        }
+
+        // Nothing was written, so a retry with the same key may try again
+        placed.whenComplete((order, error) -> {
+            if (error != null) {
+                inFlightOrPlaced.remove(key, claim);
+            }
+        });
+
+        Placed result = await(placed);
+        if (result.replayed()) {
+            // The key was already stored, before this process saw it; it must be the same order
+            Fingerprint stored = Fingerprint.of(result.order());
+            if (!stored.equals(claim.fingerprint())) {
+                inFlightOrPlaced.replace(key, claim, new Claim(stored, placed));
+                throw new IdempotencyKeyReusedException();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Order history, newest first. Each page is one index seek whatever its depth.
+     *
+     * @param fields comma-separated subset of {@link OrderRepositoryImpl#FIELDS}
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> history(Long restaurantId, String cursor, Integer limit, String fields) {
+        int pageSize = CursorPage.limit(limit);
+        FieldSelection selection = FieldSelection.parse(fields, OrderRepositoryImpl.FIELDS, DEFAULT_FIELDS);
+
+        return CursorPage.of(orderRepository.findPage(restaurantId, Cursor.decode(cursor), pageSize, selection),
+                pageSize);
+    }
+
+    private OrderIntake.Draft draft(AuthenticatedUser user, String idempotencyKey, PlaceOrderRequest request,
+                                    CompletableFuture<Placed> result) {
+        return new OrderIntake.Draft(user.restaurantId(), idempotencyKey, user.username(), request.getNote(),
+                List.copyOf(request.getLines()), Instant.now(), result);
+    }
+
+    /**
+     * A timeout leaves the order queued; retrying with the same key returns it once written
+     */
+    private Placed await(CompletableFuture<Placed> placed) {
+        try {
+            return placed.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void validate(PlaceOrderRequest request) throws IllegalArgumentException {
+        String error = "";
+
+        if (request.getLines() == null || request.getLines().isEmpty()) {
+            error = "An order needs at least one line";
+        } else if (request.getLines().size() > MAX_LINES) {
+            error = "An order has at most " + MAX_LINES + " lines";
+        } else {
+            for (PlaceOrderRequest.Line line : request.getLines()) {
+                if (line == null || line.getMenuItemId() == null) {
+                    error = "Every line needs a menu item";
+                } else if (line.getQuantity() == null || line.getQuantity() < 1 || line.getQuantity() > MAX_QUANTITY) {
+                    error = "Quantity must be between 1 and " + MAX_QUANTITY;
+                }
+            }
+        }
+
+        if (request.getNote() != null && request.getNote().length() > MAX_NOTE_LENGTH) {
+            error = "Note is too long";
+        }
+
+        if (!error.isEmpty()) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+}
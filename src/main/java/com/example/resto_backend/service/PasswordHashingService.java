@@ -0,0 +1,113 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.exception.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password hashing and verification on the bounded hashing pool instead of
+ * the calling request thread. Throws {@link ServiceBusyException} when the pool is saturated.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Qualifier("passwordHashingExecutor") ThreadPoolExecutor executor,
+                                  @Value("${password-hashing.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hashes many passwords in parallel, keeping at most one task per pool thread in flight
+     * so interactive logins still find room in the pool's queue.
+     *
+     * @return hashes in the order of the given passwords
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = Math.max(1, executor.getMaximumPoolSize());
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(window);
+
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (inFlight.size() == window) {
+                    encoded.add(await(inFlight.poll()));
+                }
+                inFlight.add(submit(() -> passwordEncoder.encode(rawPassword)));
+            }
+            while (!inFlight.isEmpty()) {
+                encoded.add(await(inFlight.poll()));
+            }
+        } catch (RuntimeException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return encoded;
+    }
+
+    /**
+     * True when the hash was produced by an older scheme or a lower cost than configured.
+     * Cheap: only inspects the hash prefix.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        return await(submit(task));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException();
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
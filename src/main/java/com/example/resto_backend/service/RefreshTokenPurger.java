@@ -0,0 +1,84 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes expired refresh-token rows in bounded chunks, one short transaction per
+ * chunk, so the purge never holds long locks or builds a huge undo log.
+ */
+@Component
+public class RefreshTokenPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurger.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Counter purgedRows;
+    private final Timer purgeTimer;
+
+    public RefreshTokenPurger(RefreshTokenRepository refreshTokenRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${refresh-token.purge.chunk-size:1000}") int chunkSize,
+                              @Value("${refresh-token.purge.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.purgedRows = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh-token rows deleted")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("refresh_tokens.purge")
+                .description("Time spent purging expired refresh tokens")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-token.purge.interval-ms:3600000}",
+            initialDelayString = "${refresh-token.purge.initial-delay-ms:60000}")
+    public void purgeExpired() {
+        purgeTimer.record(() -> {
+            Instant now = Instant.now();
+            int total = 0;
+
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                int deleted = purgeChunk(now);
+                total += deleted;
+                if (deleted < chunkSize) {
+                    break;
+                }
+            }
+
+            purgedRows.increment(total);
+            if (total > 0) {
+                log.info("Purged {} expired refresh tokens", total);
+            }
+        });
+    }
+
+    private int purgeChunk(Instant now) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> ids = refreshTokenRepository.findExpiredIds(now, Limit.of(chunkSize));
+            if (!ids.isEmpty()) {
+                refreshTokenRepository.deleteAllByIdInBatch(ids);
+            }
+            return ids.size();
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
@@ -1,69 +1,78 @@
 package com.example.resto_backend.service;
 
-import com.example.resto_backend.entity.RefreshToken;
 import com.example.resto_backend.entity.User;
-import com.example.resto_backend.repository.RefreshTokenRepository;
-import com.example.resto_backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Optional;
 
 @Service
 public class RefreshTokenService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final UserRepository userRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final long refreshTokenExpiration;
 
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
-        this.refreshTokenRepository = refreshTokenRepository;
-        this.userRepository = userRepository;
-    }
+    private final Timer createTimer;
+    private final Timer rotateTimer;
+    private final Timer revokeTimer;
+    private final Counter rejectedRotations;
 
-    /**
-     * Create or replace refresh token for user
-     */
-    @Transactional
-    public void create(User user, String token) {
-        // Option A: delete old token then insert new
-        refreshTokenRepository.deleteByUserId(user.getId());
+    public RefreshTokenService(RefreshTokenStore refreshTokenStore,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.refresh-token-expiration-ms}") long refreshTokenExpiration) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+
+        this.createTimer = operationTimer(meterRegistry, "create");
+        this.rotateTimer = operationTimer(meterRegistry, "rotate");
+        this.revokeTimer = operationTimer(meterRegistry, "revoke");
+        this.rejectedRotations = rejectedCounter(meterRegistry, "rotate");
+    }
 
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setToken(token);
-        refreshToken.setExpiryDate(
-                Instant.now().plusSeconds(7 * 24 * 60 * 60) // 7 days
-        );
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("refresh_tokens.operation")
+                .description("Refresh token store calls")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
 
-        refreshTokenRepository.save(refreshToken);
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("refresh_tokens.rejected")
+                .description("Refresh tokens that were unknown, expired or already rotated")
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 
     /**
-     * Validate refresh token
+     * Create or replace the refresh token of the user's device
      */
-    @Transactional(readOnly = true)
-    public boolean validate(String username, String token) {
-        Optional<RefreshToken> refreshTokenOpt =
-                refreshTokenRepository.findByToken(token);
-
-        if (refreshTokenOpt.isEmpty()) {
-            return false;
-        }
-
-        RefreshToken refreshToken = refreshTokenOpt.get();
+    public void create(User user, String deviceId, String token) {
+        createTimer.record(() -> refreshTokenStore.save(user, deviceId, token, newExpiryDate()));
+    }
 
-        if (!refreshToken.getUser().getUsername().equals(username)) {
-            return false;
+    /**
+     * Swap a valid refresh token for a new one; false if the old token is not valid
+     */
+    public boolean rotate(String username, String oldToken, String newToken) {
+        boolean rotated = rotateTimer.record(
+                () -> refreshTokenStore.rotate(username, oldToken, newToken, newExpiryDate()));
+        if (!rotated) {
+            rejectedRotations.increment();
         }
+        return rotated;
+    }
 
-        return refreshToken.getExpiryDate().isAfter(Instant.now());
+    /**
+     * End the session holding this refresh token
+     */
+    public void revoke(String token) {
+        revokeTimer.record(() -> refreshTokenStore.delete(token));
     }
 
-    @Transactional
-    public void deleteByUsername(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        refreshTokenRepository.deleteByUserId(user.getId());
+    private Instant newExpiryDate() {
+        return Instant.now().plusMillis(refreshTokenExpiration);
     }
 }
-
@@ -0,0 +1,34 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.User;
+
+import java.time.Instant;
+
+/**
+ * Storage for login sessions, one refresh token per user and device. Selected with
+ * {@code refresh-token.store}: {@code memory} (default) or {@code jpa}.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Creates or replaces the session of the device. When the user then has more sessions
+     * than allowed, the least recently used ones are removed.
+     */
+    void save(User user, String deviceId, String token, Instant expiryDate);
+
+    /**
+     * True when the token is known, belongs to the user and has not expired.
+     */
+    boolean isValid(String username, String token);
+
+    /**
+     * Replaces a valid token with a new one on the same session.
+     * Returns false, changing nothing, when the old token is not valid for the user.
+     */
+    boolean rotate(String username, String oldToken, String newToken, Instant expiryDate);
+
+    /**
+     * Ends the session holding the token, if any.
+     */
+    void delete(String token);
+}
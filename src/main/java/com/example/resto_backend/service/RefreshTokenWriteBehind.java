@@ -0,0 +1,294 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.RefreshToken;
+import com.example.resto_backend.repository.RefreshTokenRepository;
+import com.example.resto_backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Persists session changes of the in-memory store asynchronously. Queued changes are
+ * collapsed to the final state per session and written in one transaction: deletes and
+ * single-statement updates of existing sessions, then batched inserts of new ones.
+ * <p>
+ * If that transaction fails, the changes are written one by one. Those that still fail are
+ * kept and retried before anything newer, so a lost delete can never bring a session back
+ * when the store is reloaded. Only saves rejected by a constraint (their user is gone) are dropped.
+ * A change that fails {@code max-attempts} times is parked so it cannot hold up the rest:
+ * it is retried every {@code parked-retry-ms} and forgotten once a newer change of the same
+ * session is written. The parked set is bounded, beyond it the oldest entries are dropped.
+ * <p>
+ * The queue is bounded too. When it is full the calling thread flushes it, so producers
+ * slow down to the pace of the database instead of growing the backlog.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "memory", matchIfMissing = true)
+public class RefreshTokenWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenWriteBehind.class);
+
+    private final BlockingQueue<Change> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Guarded by flushLock; changes to write before anything still queued
+    private volatile List<Failed> retry = List.of();
+    // Guarded by flushLock; latest parked change per session
+    private final Map<SessionKey, Change> parked = new LinkedHashMap<>();
+    private volatile int parkedCount;
+    private long parkedRetriedAt = System.nanoTime();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int maxParked;
+    private final long parkedRetryNanos;
+    private final Counter dropped;
+
+    public RefreshTokenWriteBehind(RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${refresh-token.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${refresh-token.write-behind.max-queued:100000}") int maxQueued,
+                                   @Value("${refresh-token.write-behind.max-attempts:5}") int maxAttempts,
+                                   @Value("${refresh-token.write-behind.max-parked:10000}") int maxParked,
+                                   @Value("${refresh-token.write-behind.parked-retry-ms:60000}") long parkedRetryMs,
+                                   MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.queue = new LinkedBlockingQueue<>(maxQueued);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxParked = maxParked;
+        this.parkedRetryNanos = TimeUnit.MILLISECONDS.toNanos(parkedRetryMs);
+
+        backlogGauge(meterRegistry, "queued", () -> queue.size());
+        backlogGauge(meterRegistry, "retrying", () -> retry.size());
+        backlogGauge(meterRegistry, "parked", () -> parkedCount);
+        this.dropped = Counter.builder("refresh_tokens.write_behind.dropped")
+                .description("Session changes given up on because the parked set was full")
+                .register(meterRegistry);
+    }
+
+    private static void backlogGauge(MeterRegistry meterRegistry, String state, Supplier<Number> size) {
+        Gauge.builder("refresh_tokens.write_behind.backlog", size)
+                .description("Session changes not yet persisted, by state")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    void saveSession(Long userId, String deviceId, byte[] tokenHash, Instant expiryDate, Instant lastUsedAt) {
+        enqueue(new SaveSession(new SessionKey(userId, deviceId), tokenHash, expiryDate, lastUsedAt));
+    }
+
+    void deleteSession(Long userId, String deviceId) {
+        enqueue(new DeleteSession(new SessionKey(userId, deviceId)));
+    }
+
+    private void enqueue(Change change) {
+        // Each flush either drains a batch or moves the retries one attempt closer to parking,
+        // so this ends after at most max-attempts flushes
+        while (!queue.offer(change)) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-token.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (!retry.isEmpty()) {
+                Map<Change, Integer> attempts = new IdentityHashMap<>();
+                retry.forEach(failed -> attempts.put(failed.change(), failed.attempts()));
+                retry = afterAttempt(write(retry.stream().map(Failed::change).toList()), attempts);
+            }
+
+            // Newer changes must not overtake failed ones, so they wait for the next flush
+            List<Change> batch;
+            while (retry.isEmpty() && !(batch = drain()).isEmpty()) {
+                retry = afterAttempt(write(batch), Map.of());
+            }
+
+            if (retry.isEmpty() && !parked.isEmpty() && System.nanoTime() - parkedRetriedAt >= parkedRetryNanos) {
+                parkedRetriedAt = System.nanoTime();
+                write(new ArrayList<>(parked.values()));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+
+        flushLock.lock();
+        try {
+            int pending = retry.size() + queue.size() + parked.size();
+            if (pending > 0) {
+                log.error("Shutting down with {} refresh token changes not persisted", pending);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<Change> drain() {
+        List<Change> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        queue.drainTo(batch, batchSize);
+        return batch;
+    }
+
+    /**
+     * Keeps the failed changes for another attempt, or parks those that used up their attempts
+     */
+    private List<Failed> afterAttempt(List<Change> failed, Map<Change, Integer> previousAttempts) {
+        List<Failed> next = new ArrayList<>();
+        for (Change change : failed) {
+            int attempts = previousAttempts.getOrDefault(change, 0) + 1;
+            if (attempts < maxAttempts) {
+                next.add(new Failed(change, attempts));
+            } else {
+                park(change);
+            }
+        }
+        return next;
+    }
+
+    private void park(Change change) {
+        log.error("Parking refresh token session change of user {} after {} failed attempts",
+                change.key().userId(), maxAttempts);
+        parked.remove(change.key());
+        parked.put(change.key(), change);
+
+        if (parked.size() > maxParked) {
+            Iterator<Change> oldest = parked.values().iterator();
+            Change droppedChange = oldest.next();
+            oldest.remove();
+            dropped.increment();
+            log.error("Dropping parked refresh token session change of user {}, too many parked",
+                    droppedChange.key().userId());
+        }
+        parkedCount = parked.size();
+    }
+
+    /**
+     * Writes the batch and returns the changes that could not be written
+     */
+    private List<Change> write(List<Change> batch) {
+        // Only the final state per session matters
+        Map<SessionKey, Change> sessionChanges = new LinkedHashMap<>();
+        for (Change change : batch) {
+            sessionChanges.put(change.key(), change);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<RefreshToken> inserts = new ArrayList<>();
+                for (Change change : sessionChanges.values()) {
+                    apply(change, inserts);
+                }
+                refreshTokenRepository.saveAll(inserts);
+            });
+            // A parked change is superseded by a newer one of its session
+            sessionChanges.keySet().forEach(parked::remove);
+            parkedCount = parked.size();
+            return List.of();
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} refresh token changes in one transaction, writing them one by one",
+                    batch.size(), e);
+        }
+        return writeOneByOne(sessionChanges.values());
+    }
+
+    private List<Change> writeOneByOne(Collection<Change> sessionChanges) {
+        List<Change> failed = new ArrayList<>();
+        for (Change change : sessionChanges) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<RefreshToken> inserts = new ArrayList<>(1);
+                    apply(change, inserts);
+                    refreshTokenRepository.saveAll(inserts);
+                });
+                parked.remove(change.key());
+            } catch (RuntimeException e) {
+                if (change instanceof SaveSession && e instanceof DataIntegrityViolationException) {
+                    log.error("Dropping refresh token session of user {} rejected by the database",
+                            change.key().userId(), e);
+                    parked.remove(change.key());
+                } else {
+                    log.error("Failed to persist refresh token session of user {}, will retry",
+                            change.key().userId(), e);
+                    failed.add(change);
+                }
+            }
+        }
+        parkedCount = parked.size();
+        return failed;
+    }
+
+    private void apply(Change change, List<RefreshToken> inserts) {
+        SessionKey key = change.key();
+        if (change instanceof DeleteSession) {
+            refreshTokenRepository.deleteSession(key.userId(), key.deviceId());
+        } else if (change instanceof SaveSession save
+                && refreshTokenRepository.updateSession(key.userId(), key.deviceId(),
+                save.tokenHash(), save.expiryDate(), save.lastUsedAt()) == 0) {
+            inserts.add(toEntity(save));
+        }
+    }
+
+    private RefreshToken toEntity(SaveSession save) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(userRepository.getReferenceById(save.key().userId()));
+        refreshToken.setDeviceId(save.key().deviceId());
+        refreshToken.setTokenHash(save.tokenHash());
+        refreshToken.setExpiryDate(save.expiryDate());
+        refreshToken.setLastUsedAt(save.lastUsedAt());
+        return refreshToken;
+    }
+
+    private record SessionKey(Long userId, String deviceId) {
+    }
+
+    private sealed interface Change permits SaveSession, DeleteSession {
+        SessionKey key();
+    }
+
+    private record SaveSession(SessionKey key, byte[] tokenHash, Instant expiryDate, Instant lastUsedAt)
+            implements Change {
+    }
+
+    private record DeleteSession(SessionKey key) implements Change {
+    }
+
+    private record Failed(Change change, int attempts) {
+    }
+}
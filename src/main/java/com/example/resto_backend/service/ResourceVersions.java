@@ -0,0 +1,61 @@
+package com.example.resto_backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-restaurant, monotonically increasing version of each cacheable resource.
+ * Versions are bumped after a write commits and turned into strong ETags, so a
+ * conditional GET can be answered without loading or serializing anything.
+ * <p>
+ * Counters live in memory and restart at zero; the boot epoch in every ETag keeps
+ * tags handed out by a previous process from ever matching. They are not shared
+ * between instances: each instance bumps only for the writes it commits, so caches
+ * built on these versions need a TTL when more than one instance runs.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        MENU("m"),
+        RESTAURANT("r");
+
+        private final String tag;
+
+        Resource(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Resource, Map<Long, AtomicLong>> versions = new EnumMap<>(Resource.class);
+
+    public ResourceVersions() {
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new ConcurrentHashMap<>());
+        }
+    }
+
+    public long current(Resource resource, Long restaurantId) {
+        AtomicLong version = versions.get(resource).get(restaurantId);
+        return version == null ? 0 : version.get();
+    }
+
+    public long bump(Resource resource, Long restaurantId) {
+        return versions.get(resource)
+                .computeIfAbsent(restaurantId, id -> new AtomicLong())
+                .incrementAndGet();
+    }
+
+    public String etag(Resource resource, Long restaurantId) {
+        return etag(resource, restaurantId, current(resource, restaurantId));
+    }
+
+    public String etag(Resource resource, Long restaurantId, long version) {
+        return "\"" + resource.tag + "-" + epoch + "-" + restaurantId + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.Restaurant;
+import com.example.resto_backend.event.RestaurantChangedEvent;
+import com.example.resto_backend.model.UpdateRestaurantRequest;
+import com.example.resto_backend.repository.RestaurantRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Restaurant lookups by id, served from a size-bounded local cache.
+ * Every write through this service invalidates the restaurant's entry and bumps
+ * its version once the transaction commits.
+ * <p>
+ * Versions are per process (see {@link ResourceVersions}), so entries are re-read
+ * after {@code restaurant-cache.ttl-ms} as well, on the caller that finds them due
+ * while others keep the cached row. A re-read that finds different content bumps the
+ * version, which bounds how long another instance's write can go unnoticed.
+ */
+@Service
+public class RestaurantService {
+
+    public record Tagged(Restaurant restaurant, String etag) {
+    }
+
+    private final RestaurantRepository restaurantRepository;
+    private final ResourceVersions resourceVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoadingCache<Long, Restaurant> byId;
+
+    public RestaurantService(RestaurantRepository restaurantRepository,
+                             ResourceVersions resourceVersions,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${restaurant-cache.max-size:10000}") long maxSize,
+                             @Value("${restaurant-cache.ttl-ms:300000}") long ttlMs) {
+        this.restaurantRepository = restaurantRepository;
+        this.resourceVersions = resourceVersions;
+        this.eventPublisher = eventPublisher;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofMillis(ttlMs))
+                .executor(Runnable::run)
+                .recordStats()
+                .build(new Loader());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "restaurants");
+    }
+
+    public Optional<Restaurant> findById(Long restaurantId) {
+        // Misses are not cached: the loader returning null leaves no entry
+        return Optional.ofNullable(byId.get(restaurantId));
+    }
+
+    /**
+     * The restaurant with the ETag of its version. The version is read before and after
+     * the lookup, so the ETag is never newer than the body.
+     */
+    public Optional<Tagged> findTagged(Long restaurantId) {
+        while (true) {
+            long version = resourceVersions.current(ResourceVersions.Resource.RESTAURANT, restaurantId);
+            Optional<Restaurant> restaurant = findById(restaurantId);
+
+            // Moved by a commit or by a re-read that found a change; look again
+            if (resourceVersions.current(ResourceVersions.Resource.RESTAURANT, restaurantId) == version) {
+                return restaurant.map(r -> new Tagged(r,
+                        resourceVersions.etag(ResourceVersions.Resource.RESTAURANT, restaurantId, version)));
+            }
+        }
+    }
+
+    @Transactional
+    public Restaurant update(Long restaurantId, UpdateRestaurantRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Restaurant name is required");
+        }
+
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        restaurant.setName(request.getName().trim());
+
+        Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+        return saved;
+    }
+
+    /**
+     * Evicting before commit would let a concurrent reader cache the old row again
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        evict(event.restaurantId());
+        resourceVersions.bump(ResourceVersions.Resource.RESTAURANT, event.restaurantId());
+    }
+
+    public void evict(Long restaurantId) {
+        byId.invalidate(restaurantId);
+    }
+
+    private final class Loader implements CacheLoader<Long, Restaurant> {
+
+        @Override
+        public Restaurant load(Long restaurantId) {
+            return restaurantRepository.findById(restaurantId).orElse(null);
+        }
+
+        @Override
+        public Restaurant reload(Long restaurantId, Restaurant cached) {
+            Restaurant current = load(restaurantId);
+            if (current == null || !sameContent(cached, current)) {
+                // Changed by another instance; a new version gives it a new ETag
+                resourceVersions.bump(ResourceVersions.Resource.RESTAURANT, restaurantId);
+            }
+            return current;
+        }
+
+        private static boolean sameContent(Restaurant a, Restaurant b) {
+            return Objects.equals(a.getName(), b.getName())
+                    && Objects.equals(a.getOwner(), b.getOwner())
+                    && Objects.equals(a.getCreatedAt(), b.getCreatedAt());
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fan-out of server-sent events to the subscribers of a topic.
+ * <p>
+ * An idle subscriber is an {@link SseEmitter} plus an empty bounded queue; no thread is held.
+ * Publishing encodes the event once and only enqueues it. The hub's sender pool drains each
+ * queue, at most one task per subscriber at a time. A subscriber whose queue is full is
+ * too slow to keep up and is evicted; it reconnects and resynchronizes.
+ * <p>
+ * A write to a client that stopped reading blocks its sender thread until the container's
+ * write timeout, and eviction cannot interrupt it. {@link #evictStalled()} therefore evicts
+ * subscribers whose write has been blocked longer than the write timeout and lends the pool
+ * one extra thread per blocked write (up to a limit) until that write returns, so a few
+ * stalled clients cannot hold up delivery to everyone else.
+ *
+ * @param <K> topic key, e.g. a restaurant id
+ */
+public class SseHub<K> {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MAX_VALUE;
+
+    private final Map<K, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final Executor sender;
+    private final Counter evicted;
+    private final Counter stalled;
+
+    // Subscribers with a drain task running, including ones already evicted
+    private final Set<Subscriber> writers = ConcurrentHashMap.newKeySet();
+    private final long writeTimeoutNanos;
+    private final int maxStalledWrites;
+    private final int senderThreads;
+    private int stalledWrites;
+
+    public SseHub(String name, int bufferSize, int maxSubscribers, long timeoutMs,
+                  Executor sender, long writeTimeoutMs, int maxStalledWrites, MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.sender = sender;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        this.maxStalledWrites = maxStalledWrites;
+        this.senderThreads = sender instanceof ThreadPoolExecutor pool ? pool.getCorePoolSize() : 0;
+        this.evicted = Counter.builder("sse.evicted")
+                .description("Subscribers dropped because their buffer was full")
+                .tag("hub", name)
+                .register(meterRegistry);
+        this.stalled = Counter.builder("sse.stalled")
+                .description("Subscribers dropped because a write to them blocked past the write timeout")
+                .tag("hub", name)
+                .register(meterRegistry);
+
+        Gauge.builder("sse.subscribers", subscribers, AtomicInteger::get)
+                .tag("hub", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param initial optional first event, e.g. the state the subscriber starts from. It is built
+     *                after the subscriber is registered, so no later change can be missed; a change
+     *                racing the registration may appear both in it and as an event.
+     */
+    public SseEmitter subscribe(K topic, Supplier<SseEmitter.SseEventBuilder> initial) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceBusyException("Too many open event streams, please try again shortly");
+        }
+
+        SseEmitter emitter = newEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(topic, emitter);
+
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(() -> {
+            subscriber.remove();
+            // Ends the response cleanly; otherwise the timeout reaches the exception handlers
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.remove());
+
+        // Added inside compute() so it cannot race with the last subscriber removing the topic
+        topics.compute(topic, (key, subscribed) -> {
+            Set<Subscriber> set = subscribed != null ? subscribed : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        if (initial != null) {
+            subscriber.offer(initial.get().build());
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    public boolean hasSubscribers(K topic) {
+        Set<Subscriber> subscribed = topics.get(topic);
+        return subscribed != null && !subscribed.isEmpty();
+    }
+
+    public void publish(K topic, SseEmitter.SseEventBuilder event) {
+        Set<Subscriber> subscribed = topics.get(topic);
+        if (subscribed == null || subscribed.isEmpty()) {
+            return;
+        }
+
+        Set<DataWithMediaType> frame = event.build();
+        for (Subscriber subscriber : subscribed) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and surfaces dead ones as write errors.
+     */
+    public void heartbeat() {
+        for (Set<Subscriber> subscribed : topics.values()) {
+            for (Subscriber subscriber : subscribed) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * Evicts subscribers whose current write has been blocked longer than the write timeout
+     */
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : writers) {
+            subscriber.evictIfStalled(now);
+        }
+    }
+
+    /**
+     * Grows or shrinks the sender pool by the number of writes it has given up on
+     */
+    private synchronized void compensate(int delta) {
+        stalledWrites += delta;
+        if (!(sender instanceof ThreadPoolExecutor pool)) {
+            return;
+        }
+
+        int size = senderThreads + Math.max(0, Math.min(stalledWrites, maxStalledWrites));
+        if (size > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(size);
+            pool.setCorePoolSize(size);
+        } else if (size < pool.getCorePoolSize()) {
+            pool.setCorePoolSize(size);
+            pool.setMaximumPoolSize(size);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final K topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final AtomicLong writeStartedAt = new AtomicLong(IDLE);
+        private volatile boolean evict;
+
+        private Subscriber(K topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (removed.get()) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                // Never complete the emitter here: it may be blocked in a write on the sender pool
+                evict = true;
+                queue.clear();
+                if (remove()) {
+                    evicted.increment();
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            writers.add(this);
+            try {
+                Set<DataWithMediaType> frame;
+                while (!evict && (frame = queue.poll()) != null) {
+                    send(frame);
+                }
+                if (evict) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the emitter already completed; the container reports the rest
+                remove();
+                return;
+            } finally {
+                writers.remove(this);
+                draining.set(false);
+            }
+
+            if (!evict && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void send(Set<DataWithMediaType> frame) throws IOException {
+            long start = System.nanoTime();
+            writeStartedAt.set(start);
+            try {
+                emitter.send(frame);
+            } finally {
+                if (!writeStartedAt.compareAndSet(start, IDLE)) {
+                    // Given up on by evictStalled(), which lent the pool a thread meanwhile
+                    compensate(-1);
+                }
+            }
+        }
+
+        void evictIfStalled(long now) {
+            long start = writeStartedAt.get();
+            if (start == IDLE || start == STALLED || now - start < writeTimeoutNanos
+                    || !writeStartedAt.compareAndSet(start, STALLED)) {
+                return;
+            }
+
+            evict = true;
+            queue.clear();
+            if (remove()) {
+                stalled.increment();
+            }
+            compensate(1);
+        }
+
+        boolean remove() {
+            if (!removed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.decrementAndGet();
+            topics.computeIfPresent(topic, (key, subscribed) -> {
+                subscribed.remove(this);
+                return subscribed.isEmpty() ? null : subscribed;
+            });
+            return true;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.model.Cursor;
+import com.example.resto_backend.model.CursorPage;
+import com.example.resto_backend.model.FieldSelection;
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.model.StaffRequest;
+import com.example.resto_backend.model.StaffView;
+import com.example.resto_backend.repository.RestaurantRepository;
+import com.example.resto_backend.repository.UserRepository;
+import com.example.resto_backend.repository.UserRepositoryImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Staff accounts of a restaurant. Imports are validated as a whole, hashed in parallel on
+ * the password hashing pool outside any transaction, then inserted in one JDBC-batched
+ * transaction; either every row is created or none.
+ */
+@Service
+public class StaffService {
+
+    private static final List<String> DEFAULT_FIELDS = List.of("id", "username", "email", "role", "created_at");
+    private static final List<String> CSV_HEADER = List.of("username", "password", "email");
+
+    private final UserRepository userRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxImportRows;
+
+    public StaffService(UserRepository userRepository,
+                        RestaurantRepository restaurantRepository,
+                        PasswordHashingService passwordHashingService,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${staff.import.max-rows:1000}") int maxImportRows) {
+        this.userRepository = userRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxImportRows = maxImportRows;
+    }
+
+    /**
+     * @param fields comma-separated subset of {@link UserRepositoryImpl#FIELDS}
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> list(Long restaurantId, String cursor, Integer limit, String fields) {
+        int pageSize = CursorPage.limit(limit);
+        FieldSelection selection = FieldSelection.parse(fields, UserRepositoryImpl.FIELDS, DEFAULT_FIELDS);
+
+        return CursorPage.of(userRepository.findPage(restaurantId, Cursor.decode(cursor), pageSize, selection),
+                pageSize);
+    }
+
+    public StaffView create(Long restaurantId, StaffRequest request) {
+        return importStaff(restaurantId, List.of(request)).get(0);
+    }
+
+    public List<StaffView> importCsv(Long restaurantId, String csv) {
+        return importStaff(restaurantId, parseCsv(csv));
+    }
+
+    public List<StaffView> importStaff(Long restaurantId, List<StaffRequest> requests) {
+        validate(requests);
+
+        // Hashing dominates the cost; keep it outside the transaction
+        List<String> hashes = passwordHashingService.encodeAll(
+                requests.stream().map(StaffRequest::getPassword).toList());
+
+        Instant now = Instant.now();
+        List<User> saved = transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                users.add(toEntity(restaurantId, requests.get(i), hashes.get(i), now));
+            }
+            return userRepository.saveAll(users);
+        });
+        return saved.stream().map(StaffView::of).toList();
+    }
+
+    private User toEntity(Long restaurantId, StaffRequest request, String passwordHash, Instant createdAt) {
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(passwordHash);
+        user.setRole(Role.STAFF);
+        user.setRestaurant(restaurantRepository.getReferenceById(restaurantId));
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+
+    /**
+     * Same rules as registration, plus uniqueness within the import and against existing
+     * users, checked with one query per column. Emails are unique regardless of case.
+     */
+    private void validate(List<StaffRequest> requests) throws IllegalArgumentException {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to import");
+        }
+        if (requests.size() > maxImportRows) {
+            throw new IllegalArgumentException("At most " + maxImportRows + " staff can be imported at once");
+        }
+
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            StaffRequest request = requests.get(i);
+            String error = validate(request);
+
+            if (error.isEmpty() && !usernames.add(request.getUsername())) {
+                error = "Duplicate username " + request.getUsername();
+            }
+            if (error.isEmpty() && !emails.add(AccountValidator.normalizeEmail(request.getEmail()))) {
+                error = "Duplicate email " + request.getEmail();
+            }
+
+            if (!error.isEmpty()) {
+                throw new IllegalArgumentException(requests.size() == 1 ? error : "Row " + (i + 1) + ": " + error);
+            }
+        }
+
+        List<String> existingUsernames = userRepository.findExistingUsernames(usernames);
+        if (!existingUsernames.isEmpty()) {
+            throw new IllegalArgumentException("Username already exists: " + summarize(existingUsernames));
+        }
+
+        List<String> existingEmails = userRepository.findExistingEmails(emails);
+        if (!existingEmails.isEmpty()) {
+            throw new IllegalArgumentException("Email already exists: " + summarize(existingEmails));
+        }
+    }
+
+    private static String summarize(List<String> values) {
+        if (values.size() <= 10) {
+            return String.join(", ", values);
+        }
+        return String.join(", ", values.subList(0, 10)) + " and " + (values.size() - 10) + " more";
+    }
+
+    private static String validate(StaffRequest request) {
+        if (request == null) {
+            return "Username, password and email are required";
+        }
+        return AccountValidator.validate(request.getUsername(), request.getPassword(), request.getEmail());
+    }
+
+    /**
+     * Header line {@code username,password,email}, then one row per staff member.
+     * Fields may be double-quoted; a quoted field may hold commas and line breaks, and a
+     * doubled quote inside it is a literal quote.
+     */
+    static List<StaffRequest> parseCsv(String csv) throws IllegalArgumentException {
+        if (csv == null || csv.isBlank()) {
+            throw new IllegalArgumentException("Nothing to import");
+        }
+
+        List<CsvRecord> records = readCsv(csv.strip());
+        List<String> header = records.get(0).fields().stream().map(name -> name.toLowerCase(Locale.ROOT)).toList();
+        if (!header.equals(CSV_HEADER)) {
+            throw new IllegalArgumentException("CSV header must be " + String.join(",", CSV_HEADER));
+        }
+
+        List<StaffRequest> requests = new ArrayList<>(records.size() - 1);
+        for (CsvRecord record : records.subList(1, records.size())) {
+            List<String> fields = record.fields();
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() != CSV_HEADER.size()) {
+                throw new IllegalArgumentException("Line " + record.line() + ": expected " + CSV_HEADER.size() + " fields");
+            }
+            requests.add(new StaffRequest(fields.get(0), fields.get(1), fields.get(2)));
+        }
+        return requests;
+    }
+
+    /**
+     * Splits the whole input into records, so line breaks inside quoted fields stay in the field
+     */
+    private static List<CsvRecord> readCsv(String csv) throws IllegalArgumentException {
+        List<CsvRecord> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int line = 1;
+        int recordLine = 1;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (c == '\n') {
+                line++;
+            }
+
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                // The \n that follows ends the record
+            } else if (c == '\n') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+                records.add(new CsvRecord(recordLine, fields));
+                fields = new ArrayList<>();
+                recordLine = line;
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Line " + recordLine + ": unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        records.add(new CsvRecord(recordLine, fields));
+        return records;
+    }
+
+    /**
+     * @param line the line the record starts on, counting from 1
+     */
+    private record CsvRecord(int line, List<String> fields) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.resto_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-statement execution counts and latency percentiles, kept in memory and keyed by SQL
+ * text. Statements slower than the threshold, plus a sampled fraction of the rest, are
+ * handed to a background thread for logging, so the request thread never writes a log line.
+ * <p>
+ * Percentiles come from a private registry, so statement texts never become Prometheus labels.
+ */
+@Component
+public class StatementStatistics implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatistics.class);
+
+    private static final String START_NANOS = "startNanos";
+    private static final String OTHER = "(other statements)";
+
+    /**
+     * @param sql the statement, or the first statement of a batch
+     */
+    private record Execution(String sql, long elapsedNanos, int batchSize, boolean success, boolean slow) {
+    }
+
+    /**
+     * Latencies in milliseconds; percentiles cover roughly the last two minutes
+     */
+    public record Summary(String sql, long count, long failures, double totalMs, double meanMs,
+                          double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Statement {
+        private final Timer timer;
+        private final LongAdder failures = new LongAdder();
+
+        private Statement(Timer timer) {
+            this.timer = timer;
+        }
+    }
+
+    private final Map<String, Statement> statements = new ConcurrentHashMap<>();
+    private final MeterRegistry statementRegistry = new SimpleMeterRegistry();
+
+    private final BlockingQueue<Execution> logQueue;
+    private final Counter droppedLogEntries;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxStatements;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public StatementStatistics(MeterRegistry meterRegistry,
+                               @Value("${sql-inspection.slow-threshold-ms:100}") long slowThresholdMs,
+                               @Value("${sql-inspection.sample-rate:0.0}") double sampleRate,
+                               @Value("${sql-inspection.log-queue-capacity:1000}") int logQueueCapacity,
+                               @Value("${sql-inspection.max-statements:500}") int maxStatements) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sql-inspection.sample-rate must be between 0 and 1");
+        }
+
+        this.logQueue = new ArrayBlockingQueue<>(logQueueCapacity);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.sampleRate = sampleRate;
+        this.maxStatements = maxStatements;
+        this.droppedLogEntries = Counter.builder("sql.log.dropped")
+                .description("Slow or sampled statements not logged because the log queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new CustomizableThreadFactory("sql-log-").newThread(this::run);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // ExecutionInfo.getElapsedTime() is in whole milliseconds, too coarse for in-memory queries
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String sql = queryInfoList.get(0).getQuery();
+
+        Statement statement = statement(sql);
+        statement.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (!execInfo.isSuccess()) {
+            statement.failures.increment();
+        }
+
+        boolean slow = elapsed >= slowThresholdNanos;
+        if (slow || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            Execution execution = new Execution(sql, elapsed, execInfo.getBatchSize(), execInfo.isSuccess(), slow);
+            if (!logQueue.offer(execution)) {
+                droppedLogEntries.increment();
+            }
+        }
+    }
+
+    /**
+     * @return the statements with the highest total time first
+     */
+    public List<Summary> summaries(int limit) {
+        return statements.entrySet().stream()
+                .map(entry -> summarize(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(Summary::totalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public double droppedLogEntries() {
+        return droppedLogEntries.count();
+    }
+
+    public void reset() {
+        statements.clear();
+        statementRegistry.clear();
+    }
+
+    private Statement statement(String sql) {
+        Statement statement = statements.get(sql);
+        if (statement != null) {
+            return statement;
+        }
+        // Bounded, in case something builds SQL with inlined literals
+        String key = statements.size() < maxStatements ? sql : OTHER;
+        return statements.computeIfAbsent(key, k -> new Statement(Timer.builder("sql.statement")
+                .tag("sql", k)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(statementRegistry)));
+    }
+
+    private static Summary summarize(String sql, Statement statement) {
+        HistogramSnapshot snapshot = statement.timer.takeSnapshot();
+        double p50 = 0, p95 = 0, p99 = 0;
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            double ms = value.value(TimeUnit.MILLISECONDS);
+            if (value.percentile() == 0.5) {
+                p50 = ms;
+            } else if (value.percentile() == 0.95) {
+                p95 = ms;
+            } else if (value.percentile() == 0.99) {
+                p99 = ms;
+            }
+        }
+        return new Summary(sql, snapshot.count(), statement.failures.sum(),
+                snapshot.total(TimeUnit.MILLISECONDS), snapshot.mean(TimeUnit.MILLISECONDS),
+                p50, p95, p99, snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Execution execution = logQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (execution != null) {
+                    write(execution);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(Execution execution) {
+        double ms = execution.elapsedNanos() / 1_000_000.0;
+        String batch = execution.batchSize() > 0 ? " batch of " + execution.batchSize() : "";
+        String outcome = execution.success() ? "" : " (failed)";
+
+        if (execution.slow()) {
+            log.warn("Slow statement{} took {} ms{}: {}", batch, String.format("%.1f", ms), outcome, execution.sql());
+        } else {
+            log.info("Sampled statement{} took {} ms{}: {}", batch, String.format("%.2f", ms), outcome, execution.sql());
+        }
+    }
+}
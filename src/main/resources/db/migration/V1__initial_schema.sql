@@ -0,0 +1,106 @@
+-- Schema as of the introduction of migrations; matches the JPA mappings
+-- (spring.jpa.hibernate.ddl-auto=validate in the prod profile).
+
+create sequence users_seq start with 1 increment by 50;
+create sequence refresh_tokens_seq start with 1 increment by 50;
+create sequence orders_seq start with 1 increment by 50;
+create sequence order_lines_seq start with 1 increment by 50;
+
+create table restaurants (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    owner varchar(255) not null,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_restaurants_owner on restaurants (owner);
+
+create table users (
+    id bigint not null,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) check (role in ('OWNER', 'STAFF')),
+    restaurant_id bigint not null,
+    created_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint fk_users_restaurant foreign key (restaurant_id) references restaurants
+);
+
+create index idx_users_restaurant_created on users (restaurant_id, created_at, id);
+
+create table refresh_tokens (
+    id bigint not null,
+    token_hash binary(32) not null unique,
+    user_id bigint not null,
+    device_id varchar(64) not null,
+    expiry_date timestamp(6) with time zone not null,
+    last_used_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_refresh_tokens_user_device unique (user_id, device_id),
+    constraint fk_refresh_tokens_user foreign key (user_id) references users
+);
+
+create index idx_refresh_tokens_expiry_date on refresh_tokens (expiry_date);
+
+create table menu_categories (
+    id bigint generated by default as identity,
+    restaurant_id bigint not null,
+    name varchar(255) not null,
+    sort_order integer not null,
+    primary key (id),
+    constraint fk_menu_categories_restaurant foreign key (restaurant_id) references restaurants
+);
+
+create index idx_menu_categories_restaurant on menu_categories (restaurant_id);
+
+create table menu_items (
+    id bigint generated by default as identity,
+    restaurant_id bigint not null,
+    category_id bigint not null,
+    name varchar(255) not null,
+    description varchar(255),
+    price numeric(10, 2) not null,
+    available boolean not null,
+    station varchar(32) not null,
+    sort_order integer not null,
+    primary key (id),
+    constraint fk_menu_items_restaurant foreign key (restaurant_id) references restaurants,
+    constraint fk_menu_items_category foreign key (category_id) references menu_categories
+);
+
+create index idx_menu_items_restaurant on menu_items (restaurant_id);
+create index idx_menu_items_category on menu_items (category_id);
+
+create table orders (
+    id bigint not null,
+    restaurant_id bigint not null,
+    idempotency_key varchar(64),
+    status varchar(20) not null check (status in ('PLACED')),
+    placed_by varchar(50) not null,
+    note varchar(255),
+    total numeric(12, 2) not null,
+    created_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_orders_restaurant_idempotency_key unique (restaurant_id, idempotency_key),
+    constraint fk_orders_restaurant foreign key (restaurant_id) references restaurants
+);
+
+create index idx_orders_restaurant_created on orders (restaurant_id, created_at, id);
+
+create table order_lines (
+    id bigint not null,
+    order_id bigint not null,
+    menu_item_id bigint not null,
+    name varchar(255) not null,
+    unit_price numeric(10, 2) not null,
+    quantity integer not null,
+    station varchar(32) not null,
+    primary key (id),
+    constraint fk_order_lines_order foreign key (order_id) references orders
+);
+
+create index idx_order_lines_order on order_lines (order_id);
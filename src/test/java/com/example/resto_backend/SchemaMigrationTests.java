@@ -0,0 +1,29 @@
+package com.example.resto_backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations on an empty database and lets Hibernate validate the result against
+ * the entity mappings, as the prod profile does. Fails when an entity changes without a migration.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:migrations;DB_CLOSE_DELAY=-1",
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTests {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Test
+	void migrationsMatchTheEntityMappings() {
+		assertThat(flyway.info().pending()).isEmpty();
+		assertThat(flyway.info().current()).isNotNull();
+	}
+}
@@ -0,0 +1,150 @@
+package com.example.resto_backend.controller;
+
+import com.example.resto_backend.entity.Restaurant;
+import com.example.resto_backend.model.AvailabilityRequest;
+import com.example.resto_backend.model.MenuCategoryRequest;
+import com.example.resto_backend.model.MenuItemRequest;
+import com.example.resto_backend.model.MenuView;
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.repository.RestaurantRepository;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.jwt.JwtUtil;
+import com.example.resto_backend.service.MenuService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MenuControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private MenuService menuService;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	private AuthenticatedUser owner;
+	private AuthenticatedUser staff;
+	private AuthenticatedUser otherOwner;
+
+	@BeforeEach
+	void setUp() {
+		Long restaurantId = restaurantRepository.save(
+				new Restaurant(null, "Trattoria", "owner01", LocalDateTime.now())).getId();
+		Long otherRestaurantId = restaurantRepository.save(
+				new Restaurant(null, "Bistro", "owner02", LocalDateTime.now())).getId();
+
+		owner = new AuthenticatedUser("owner01", restaurantId, Role.OWNER);
+		staff = new AuthenticatedUser("waiter01", restaurantId, Role.STAFF);
+		otherOwner = new AuthenticatedUser("owner02", otherRestaurantId, Role.OWNER);
+	}
+
+	@Test
+	void anotherRestaurantsIdsAreNotFound() throws Exception {
+		MenuView.Category category = menuService.createCategory(owner.restaurantId(), new MenuCategoryRequest("Mains", 0));
+		MenuView.Item item = menuService.createItem(owner.restaurantId(), itemRequest(category.id(), "Lasagna"));
+
+		mockMvc.perform(as(otherOwner, put("/api/v1/menu/categories/" + category.id()), new MenuCategoryRequest("Taken", 0)))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(as(otherOwner, delete("/api/v1/menu/items/" + item.id()), null))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(as(otherOwner, patch("/api/v1/menu/items/" + item.id() + "/availability"), new AvailabilityRequest(false)))
+				.andExpect(status().isNotFound());
+		// Creating an item in one's own menu under a foreign category is rejected the same way
+		mockMvc.perform(as(otherOwner, post("/api/v1/menu/items"), itemRequest(category.id(), "Stolen")))
+				.andExpect(status().isNotFound());
+
+		mockMvc.perform(as(otherOwner, get("/api/v1/menu"), null))
+				.andExpect(status().isOk())
+				.andExpect(content().string(not(containsString("Lasagna"))));
+		mockMvc.perform(as(owner, get("/api/v1/menu"), null))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("\"available\":true")));
+	}
+
+	@Test
+	void snapshotIsRebuiltAfterEachCommittedWrite() throws Exception {
+		String before = mockMvc.perform(as(owner, get("/api/v1/menu"), null))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(as(owner, get("/api/v1/menu"), null).header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(as(owner, post("/api/v1/menu/categories"), new MenuCategoryRequest("Desserts", 1)))
+				.andExpect(status().isCreated());
+
+		String after = mockMvc.perform(as(owner, get("/api/v1/menu"), null).header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Desserts")))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(after).isNotEqualTo(before);
+		mockMvc.perform(as(owner, get("/api/v1/menu"), null).header(HttpHeaders.IF_NONE_MATCH, after))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void onlyOwnersEditTheMenu() throws Exception {
+		MenuView.Category category = menuService.createCategory(owner.restaurantId(), new MenuCategoryRequest("Mains", 0));
+		MenuView.Item item = menuService.createItem(owner.restaurantId(), itemRequest(category.id(), "Risotto"));
+
+		mockMvc.perform(as(staff, post("/api/v1/menu/categories"), new MenuCategoryRequest("Specials", 0)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(as(staff, put("/api/v1/menu/items/" + item.id()), itemRequest(category.id(), "Renamed")))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(as(staff, delete("/api/v1/menu/categories/" + category.id()), null))
+				.andExpect(status().isForbidden());
+
+		// Staff may still read the menu and mark items sold out
+		mockMvc.perform(as(staff, patch("/api/v1/menu/items/" + item.id() + "/availability"), new AvailabilityRequest(false)))
+				.andExpect(status().isOk());
+		mockMvc.perform(as(staff, get("/api/v1/menu"), null))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("\"available\":false")));
+	}
+
+	private MockHttpServletRequestBuilder as(AuthenticatedUser user, MockHttpServletRequestBuilder request, Object body)
+			throws Exception {
+		request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken(user));
+		if (body != null) {
+			request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(body));
+		}
+		return request;
+	}
+
+	private static MenuItemRequest itemRequest(Long categoryId, String name) {
+		return new MenuItemRequest(categoryId, name, null, BigDecimal.TEN, true, "grill", 0);
+	}
+}
@@ -0,0 +1,35 @@
+package com.example.resto_backend.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConstraintConflictsTests {
+
+	@Test
+	void namesTheDuplicateFromTheBackingIndex() {
+		assertThat(ConstraintConflicts.duplicateDetail(violation("PUBLIC.UK_USERS_EMAIL_INDEX_4")))
+				.contains("Email already exists");
+		assertThat(ConstraintConflicts.duplicateDetail(violation("PUBLIC.UK_USERS_USERNAME_INDEX_4")))
+				.contains("Username already exists");
+		assertThat(ConstraintConflicts.duplicateDetail(violation("uk_orders_restaurant_idempotency_key")))
+				.contains("An order with this Idempotency-Key already exists");
+	}
+
+	@Test
+	void unknownOrUnnamedConstraintsHaveNoDuplicateDetail() {
+		assertThat(ConstraintConflicts.duplicateDetail(violation("PUBLIC.FK_USERS_RESTAURANT"))).isEmpty();
+		assertThat(ConstraintConflicts.duplicateDetail(violation(null))).isEmpty();
+		assertThat(ConstraintConflicts.duplicateDetail(new DataIntegrityViolationException("duplicate"))).isEmpty();
+	}
+
+	private static DataIntegrityViolationException violation(String constraintName) {
+		ConstraintViolationException cause = new ConstraintViolationException(
+				"could not execute statement", new SQLException("violation", "23505"), constraintName);
+		return new DataIntegrityViolationException("could not execute statement", cause);
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.resto_backend.exception;
+
+import com.example.resto_backend.exception.ProblemResponseWriter.Problem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemResponseWriterTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void writesTheTemplateWithStatusAndLength() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		ProblemResponseWriter.write(response, Problem.AUTHENTICATION_REQUIRED, "/api/v1/menu");
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		assertThat(response.getContentType()).isEqualTo("application/problem+json");
+		assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+
+		JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+		assertThat(body.get("type").asText()).isEqualTo("https://api.example.com/problems/authentication-required");
+		assertThat(body.get("status").asInt()).isEqualTo(401);
+		assertThat(body.get("instance").asText()).isEqualTo("/api/v1/menu");
+	}
+
+	@Test
+	void escapesTheInstance() throws Exception {
+		String instance = "/api/\"quoted\"\\path\n\u0001/caf\u00e9/\u20ac/\ud83c\udf55/\ud800";
+
+		byte[] body = ProblemResponseWriter.encode(Problem.FORBIDDEN, instance);
+
+		JsonNode json = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+		assertThat(json.get("instance").asText()).isEqualTo(instance.replace('\ud800', '\ufffd'));
+		assertThat(json.get("status").asInt()).isEqualTo(403);
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.resto_backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CursorPageTests {
+
+	@Test
+	void cursorRoundTripsExactly() {
+		Cursor cursor = new Cursor(Instant.parse("2024-05-01T18:30:00.123456789Z"), 42L);
+
+		assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+		assertThat(Cursor.decode(null)).isNull();
+		assertThatIllegalArgumentException().isThrownBy(() -> Cursor.decode("not-a-cursor"));
+	}
+
+	@Test
+	void cursorOutsideTheInstantRangeIsInvalid() {
+		byte[] bytes = ByteBuffer.allocate(20).putLong(Long.MAX_VALUE).putInt(0).putLong(1L).array();
+		String outOfRange = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Cursor.decode(outOfRange));
+	}
+
+	@Test
+	void extraRowYieldsCursorOfLastItem() {
+		List<KeysetRow> rows = List.of(row(3), row(2), row(1));
+
+		CursorPage<Map<String, Object>> page = CursorPage.of(rows, 2);
+
+		assertThat(page.items()).hasSize(2);
+		assertThat(Cursor.decode(page.nextCursor()).id()).isEqualTo(2L);
+		assertThat(CursorPage.of(rows, 3).nextCursor()).isNull();
+	}
+
+	@Test
+	void fieldSelectionKeepsResourceOrderAndRejectsUnknownFields() {
+		List<String> available = List.of("id", "total", "lines");
+
+		assertThat(FieldSelection.parse("lines, id", available, List.of("id")).fields()).containsExactly("id", "lines");
+		assertThat(FieldSelection.parse(null, available, List.of("id")).fields()).containsExactly("id");
+		assertThatIllegalArgumentException().isThrownBy(() -> FieldSelection.parse("secret", available, available));
+		assertThatIllegalArgumentException().isThrownBy(() -> FieldSelection.parse(",", available, available));
+	}
+
+	private static KeysetRow row(long id) {
+		Map<String, Object> fields = new HashMap<>();
+		fields.put("id", id);
+		return new KeysetRow(new Cursor(Instant.ofEpochSecond(id), id), fields);
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.resto_backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimitFilterTests {
+
+	// One attempt per client, regained after a minute
+	private final LoginRateLimitFilter filter = new LoginRateLimitFilter(
+			new LoginRateLimiter(true, 1, 60_000, 5, 60_000, 100, new SimpleMeterRegistry()));
+
+	@Test
+	void apiLoginOverTheLimitGetsProblemResponse() throws Exception {
+		assertThat(login("/api/v1/auth/login").chain.getRequest()).isNotNull();
+
+		Attempt limited = login("/api/v1/auth/login");
+
+		assertThat(limited.chain.getRequest()).isNull();
+		assertThat(limited.response.getStatus()).isEqualTo(429);
+		assertThat(limited.response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+		assertThat(limited.response.getContentAsString()).contains("/too-many-requests");
+	}
+
+	@Test
+	void webLoginOverTheLimitIsPassedOnMarked() throws Exception {
+		assertThat(login("/login").request.getAttribute(LoginRateLimitFilter.RETRY_AFTER_ATTRIBUTE)).isNull();
+
+		Attempt limited = login("/login");
+
+		assertThat(limited.chain.getRequest()).isNotNull();
+		assertThat(limited.request.getAttribute(LoginRateLimitFilter.RETRY_AFTER_ATTRIBUTE)).isEqualTo(60L);
+	}
+
+	@Test
+	void loginUnderAContextPathIsLimited() throws Exception {
+		login("/resto", "/api/v1/auth/login");
+
+		Attempt limited = login("/resto", "/api/v1/auth/login");
+
+		assertThat(limited.response.getStatus()).isEqualTo(429);
+		assertThat(limited.response.getContentAsString()).contains("\"instance\":\"/resto/api/v1/auth/login\"");
+	}
+
+	private Attempt login(String path) throws Exception {
+		return login("", path);
+	}
+
+	private Attempt login(String contextPath, String path) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", contextPath + path);
+		request.setContextPath(contextPath);
+		request.setServletPath(path);
+		Attempt attempt = new Attempt(request, new MockHttpServletResponse(), new MockFilterChain());
+		filter.doFilter(attempt.request, attempt.response, attempt.chain);
+		return attempt;
+	}
+
+	private record Attempt(MockHttpServletRequest request, MockHttpServletResponse response, MockFilterChain chain) {
+	}
+}
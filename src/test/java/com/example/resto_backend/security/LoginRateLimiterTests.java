@@ -0,0 +1,71 @@
+package com.example.resto_backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final Counter rejected = meterRegistry.counter("rejected");
+
+	@Test
+	void allowsBurstThenRefillsOneTokenPerInterval() {
+		LoginRateLimiter.Limit limit = new LoginRateLimiter.Limit(3, 1000, 100, rejected);
+		long now = 5 * SECOND;
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limit.acquire("10.0.0.1", now)).isZero();
+		}
+		assertThat(limit.acquire("10.0.0.1", now)).isEqualTo(SECOND);
+		assertThat(limit.acquire("10.0.0.1", now + SECOND / 2)).isEqualTo(SECOND / 2);
+
+		assertThat(limit.acquire("10.0.0.1", now + SECOND)).isZero();
+		assertThat(limit.acquire("10.0.0.1", now + SECOND)).isEqualTo(SECOND);
+		assertThat(rejected.count()).isEqualTo(3);
+	}
+
+	@Test
+	void rejectionsDoNotPushBackTheNextToken() {
+		LoginRateLimiter.Limit limit = new LoginRateLimiter.Limit(1, 1000, 100, rejected);
+
+		assertThat(limit.acquire("owner01", 0)).isZero();
+		for (int i = 0; i < 100; i++) {
+			assertThat(limit.acquire("owner01", i)).isPositive();
+		}
+		assertThat(limit.acquire("owner01", SECOND)).isZero();
+	}
+
+	@Test
+	void keysHaveSeparateBuckets() {
+		LoginRateLimiter.Limit limit = new LoginRateLimiter.Limit(1, 1000, 100, rejected);
+
+		assertThat(limit.acquire("owner01", 0)).isZero();
+		assertThat(limit.acquire("owner01", 0)).isPositive();
+		assertThat(limit.acquire("owner02", 0)).isZero();
+		assertThat(limit.size()).isEqualTo(2);
+	}
+
+	@Test
+	void disabledLimiterAdmitsEverything() {
+		LoginRateLimiter limiter = new LoginRateLimiter(false, 1, 60_000, 1, 60_000, 100, meterRegistry);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(limiter.acquireForClient("10.0.0.1")).isZero();
+			assertThat(limiter.acquireForUsername("owner01")).isZero();
+		}
+	}
+
+	@Test
+	void retryAfterRoundsUpToWholeSeconds() {
+		assertThat(LoginRateLimiter.retryAfterSeconds(1)).isEqualTo(1);
+		assertThat(LoginRateLimiter.retryAfterSeconds(SECOND)).isEqualTo(1);
+		assertThat(LoginRateLimiter.retryAfterSeconds(SECOND + 1)).isEqualTo(2);
+	}
+}
@@ -0,0 +1,20 @@
+package com.example.resto_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDigestTests {
+
+	@Test
+	void nonAsciiTokensDoNotCollide() {
+		assertThat(TokenDigest.key("tokené")).isNotEqualTo(TokenDigest.key("tokenè"));
+		assertThat(TokenDigest.key("tokené")).isNotEqualTo(TokenDigest.key("token?"));
+	}
+
+	@Test
+	void equalTokensGiveEqualKeys() {
+		assertThat(TokenDigest.key("a.b.c")).isEqualTo(TokenDigest.key("a.b.c"));
+		assertThat(TokenDigest.sha256("a.b.c")).hasSize(TokenDigest.LENGTH);
+	}
+}
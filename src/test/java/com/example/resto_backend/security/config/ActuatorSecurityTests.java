@@ -0,0 +1,49 @@
+package com.example.resto_backend.security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "metrics.scrape.password=scrape-secret")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void prometheusRequiresScrapeCredentials() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("prometheus", "wrong")))
+				.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("prometheus", "scrape-secret")))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("auth_filter_requests_total")));
+	}
+
+	private static String basic(String username, String password) {
+		return "Basic " + Base64.getEncoder()
+				.encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.resto_backend.security.jwt;
+
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.security.AuthenticatedUser;
+import com.example.resto_backend.security.SecurityConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthFilterTests {
+
+	private static final AuthenticatedUser ALICE = new AuthenticatedUser("alice1", 1L, Role.OWNER);
+
+	private final JwtUtil jwtUtil = new JwtUtil(
+			"THIS_IS_A_VERY_LONG_AND_SECURE_SECRET_KEY_AT_LEAST_256_BITS_LONG", 900_000, 604_800_000);
+
+	private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(100);
+
+	private final JwtAuthFilter filter = new JwtAuthFilter(jwtUtil, verifiedTokenCache, new SimpleMeterRegistry());
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void accessTokenAuthenticates() throws Exception {
+		Authentication authentication = authenticate(jwtUtil.generateAccessToken(ALICE));
+
+		assertThat(authentication).isNotNull();
+		assertThat(authentication.getPrincipal()).isEqualTo(ALICE);
+	}
+
+	@Test
+	void refreshTokenIsNotAcceptedAsBearerToken() throws Exception {
+		String refreshToken = jwtUtil.generateRefreshToken(ALICE);
+
+		assertThat(authenticate(refreshToken)).isNull();
+		assertThat(verifiedTokenCache.get(refreshToken)).isNull();
+	}
+
+	@Test
+	void tokensCarryTheirType() {
+		assertThat(jwtUtil.parse(jwtUtil.generateAccessToken(ALICE), false).isType(TokenType.ACCESS)).isTrue();
+		assertThat(jwtUtil.parse(jwtUtil.generateRefreshToken(ALICE), false).isType(TokenType.ACCESS)).isFalse();
+		assertThat(jwtUtil.parse(jwtUtil.generateRefreshToken(ALICE), false).isType(TokenType.REFRESH)).isTrue();
+	}
+
+	private Authentication authenticate(String token) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+		request.addHeader(SecurityConstants.AUTH_HEADER, SecurityConstants.BEARER_PREFIX + token);
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.resto_backend.security.jwt;
+
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTests {
+
+	private static final AuthenticatedUser ALICE = new AuthenticatedUser("alice1", 1L, Role.OWNER);
+
+	private final VerifiedTokenCache cache = new VerifiedTokenCache(100);
+
+	@Test
+	void returnsCachedTokenUntilItExpires() {
+		VerifiedToken verified = new VerifiedToken(ALICE, Instant.now().plusSeconds(60), Collections.emptyList());
+		cache.put("token-a", verified);
+
+		assertThat(cache.get("token-a")).isEqualTo(verified);
+		assertThat(cache.get("token-b")).isNull();
+		assertThat(cache.stats().hitCount()).isEqualTo(1);
+		assertThat(cache.stats().missCount()).isEqualTo(1);
+	}
+
+	@Test
+	void neverReturnsExpiredToken() {
+		cache.put("token-a", new VerifiedToken(ALICE, Instant.now().minusSeconds(1), Collections.emptyList()));
+
+		assertThat(cache.get("token-a")).isNull();
+	}
+
+	@Test
+	void bindsItsOwnCacheMeters() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+		cache.get("token-a");
+
+		assertThat(registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+				.functionCounter().count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.exception.ServiceBusyException;
+import com.example.resto_backend.model.LoginRequest;
+import com.example.resto_backend.repository.RestaurantRepository;
+import com.example.resto_backend.repository.UserRepository;
+import com.example.resto_backend.security.LoginRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+
+	private final AuthService authService = new AuthService(userRepository, mock(RestaurantRepository.class),
+			passwordHashingService, new LoginRateLimiter(false, 1, 1, 1, 1, 1, new SimpleMeterRegistry()),
+			new SimpleMeterRegistry());
+
+	@Test
+	void busyPoolSkipsTheRehashButNotTheLogin() throws Exception {
+		User user = new User();
+		user.setUsername("owner01");
+		user.setPassword("{pbkdf2}old");
+		when(userRepository.findByUsername("owner01")).thenReturn(Optional.of(user));
+		when(passwordHashingService.matches("secret1", "{pbkdf2}old")).thenReturn(true);
+		when(passwordHashingService.upgradeEncoding("{pbkdf2}old")).thenReturn(true);
+		when(passwordHashingService.encode("secret1")).thenThrow(new ServiceBusyException());
+
+		User authenticated = authService.authenticate(new LoginRequest("owner01", "secret1"));
+
+		assertThat(authenticated).isSameAs(user);
+		assertThat(user.getPassword()).isEqualTo("{pbkdf2}old");
+		verify(userRepository, never()).save(any());
+	}
+}
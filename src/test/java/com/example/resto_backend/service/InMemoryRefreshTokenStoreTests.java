@@ -0,0 +1,80 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.User;
+import com.example.resto_backend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InMemoryRefreshTokenStoreTests {
+
+	private final Instant expiry = Instant.now().plusSeconds(3600);
+
+	private InMemoryRefreshTokenStore store;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		store = new InMemoryRefreshTokenStore(mock(RefreshTokenRepository.class),
+				mock(RefreshTokenWriteBehind.class), 2, 64, 60_000);
+
+		user = new User();
+		user.setId(1L);
+		user.setUsername("owner01");
+	}
+
+	@Test
+	void keepsOneSessionPerDevice() {
+		store.save(user, "tablet", "token-1", expiry);
+		store.save(user, "pos", "token-2", expiry);
+
+		assertThat(store.isValid("owner01", "token-1")).isTrue();
+		assertThat(store.isValid("owner01", "token-2")).isTrue();
+		assertThat(store.isValid("someone", "token-1")).isFalse();
+
+		store.save(user, "tablet", "token-3", expiry);
+
+		assertThat(store.isValid("owner01", "token-1")).isFalse();
+		assertThat(store.isValid("owner01", "token-3")).isTrue();
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedSessionBeyondCap() throws InterruptedException {
+		store.save(user, "tablet", "token-1", expiry);
+		Thread.sleep(2);
+		store.save(user, "pos", "token-2", expiry);
+		Thread.sleep(2);
+		store.rotate("owner01", "token-1", "token-1b", expiry);
+		Thread.sleep(2);
+		store.save(user, "phone", "token-3", expiry);
+
+		assertThat(store.isValid("owner01", "token-1b")).isTrue();
+		assertThat(store.isValid("owner01", "token-2")).isFalse();
+		assertThat(store.isValid("owner01", "token-3")).isTrue();
+	}
+
+	@Test
+	void rotationInvalidatesOldTokenExactlyOnce() {
+		store.save(user, "tablet", "token-1", expiry);
+
+		assertThat(store.rotate("owner01", "token-1", "token-2", expiry)).isTrue();
+		assertThat(store.rotate("owner01", "token-1", "token-3", expiry)).isFalse();
+		assertThat(store.isValid("owner01", "token-1")).isFalse();
+		assertThat(store.isValid("owner01", "token-2")).isTrue();
+	}
+
+	@Test
+	void deleteEndsOnlyThatSession() {
+		store.save(user, "tablet", "token-1", expiry);
+		store.save(user, "pos", "token-2", expiry);
+
+		store.delete("token-1");
+
+		assertThat(store.isValid("owner01", "token-1")).isFalse();
+		assertThat(store.isValid("owner01", "token-2")).isTrue();
+	}
+}
@@ -0,0 +1,70 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.model.KitchenTicket;
+import com.example.resto_backend.model.OrderStatus;
+import com.example.resto_backend.model.OrderView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KitchenTicketRouterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ThreadPoolExecutor sender = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+
+	private final KitchenTicketRouter router = new KitchenTicketRouter(
+			new ObjectMapper().registerModule(new JavaTimeModule()), sender, meterRegistry, 2, 16, 100, 60_000, 5_000, 4);
+
+	@AfterEach
+	void tearDown() {
+		sender.shutdownNow();
+	}
+
+	@Test
+	void splitsOrderIntoOneTicketPerStation() {
+		List<KitchenTicket> tickets = router.route(1L, order(10L, "grill", "bar", "grill"));
+
+		assertThat(tickets).extracting(KitchenTicket::station).containsExactly("grill", "bar");
+		assertThat(router.pending(1L, "grill")).singleElement()
+				.satisfies(ticket -> assertThat(ticket.lines()).hasSize(2));
+		assertThat(router.pending(1L, "bar")).hasSize(1);
+		assertThat(router.pending(2L, "grill")).isEmpty();
+	}
+
+	@Test
+	void acknowledgedTicketLeavesTheQueueOnce() {
+		KitchenTicket ticket = router.route(1L, order(10L, "grill")).get(0);
+
+		assertThat(router.acknowledge(1L, "grill", ticket.id())).isTrue();
+		assertThat(router.acknowledge(1L, "grill", ticket.id())).isFalse();
+		assertThat(router.pending(1L, "grill")).isEmpty();
+	}
+
+	@Test
+	void fullQueueDropsTheOldestTicket() {
+		router.route(1L, order(10L, "grill"));
+		router.route(1L, order(11L, "grill"));
+		router.route(1L, order(12L, "grill"));
+
+		assertThat(router.pending(1L, "grill")).extracting(KitchenTicket::orderId).containsExactly(11L, 12L);
+		assertThat(meterRegistry.get("kitchen.tickets.dropped").counter().count()).isEqualTo(1);
+	}
+
+	private static OrderView order(Long id, String... stations) {
+		List<OrderView.Line> lines = Arrays.stream(stations)
+				.map(station -> new OrderView.Line(1L, station + " item", BigDecimal.ONE, 1, station))
+				.toList();
+		return new OrderView(id, OrderStatus.PLACED, "alice1", null, BigDecimal.ONE, Instant.now(), lines);
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.MenuCategory;
+import com.example.resto_backend.repository.MenuCategoryRepository;
+import com.example.resto_backend.repository.MenuItemRepository;
+import com.example.resto_backend.service.ResourceVersions.Resource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MenuSnapshotCacheTests {
+
+	private final MenuCategoryRepository menuCategoryRepository = mock(MenuCategoryRepository.class);
+	private final ResourceVersions versions = new ResourceVersions();
+
+	private MenuSnapshotCache cache(long ttlMs) {
+		return new MenuSnapshotCache(menuCategoryRepository, mock(MenuItemRepository.class), new ObjectMapper(),
+				versions, mock(PlatformTransactionManager.class), ttlMs);
+	}
+
+	@Test
+	void snapshotOlderThanTheVersionIsRebuilt() {
+		MenuSnapshotCache cache = cache(60_000);
+		menu("Mains");
+		assertThat(cache.get(1L).version()).isZero();
+
+		// A write committed but its after-commit rebuild never installed a snapshot
+		menu("Mains", "Desserts");
+		versions.bump(Resource.MENU, 1L);
+
+		MenuSnapshotCache.Snapshot snapshot = cache.get(1L);
+		assertThat(snapshot.version()).isEqualTo(1);
+		assertThat(new String(snapshot.json())).contains("Desserts");
+		assertThat(snapshot.etag()).isEqualTo(versions.etag(Resource.MENU, 1L));
+	}
+
+	@Test
+	void expiredSnapshotPicksUpChangesMadeElsewhere() {
+		MenuSnapshotCache cache = cache(0);
+		menu("Mains");
+		MenuSnapshotCache.Snapshot first = cache.get(1L);
+
+		assertThat(cache.get(1L).etag()).isEqualTo(first.etag());
+
+		// Written through another instance, so this one never bumped the version
+		menu("Mains", "Desserts");
+		MenuSnapshotCache.Snapshot refreshed = cache.get(1L);
+
+		assertThat(new String(refreshed.json())).contains("Desserts");
+		assertThat(refreshed.etag()).isNotEqualTo(first.etag());
+		assertThat(cache.get(1L).etag()).isEqualTo(refreshed.etag());
+	}
+
+	private void menu(String... names) {
+		List<MenuCategory> categories = new ArrayList<>();
+		for (int i = 0; i < names.length; i++) {
+			MenuCategory category = new MenuCategory();
+			category.setId((long) i + 1);
+			category.setName(names[i]);
+			categories.add(category);
+		}
+		when(menuCategoryRepository.findAllByRestaurantIdOrderBySortOrderAscIdAsc(1L)).thenReturn(categories);
+	}
+
+	@Test
+	void concurrentCallersShareOneRebuild() throws Exception {
+		MenuSnapshotCache cache = cache(60_000);
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger reads = new AtomicInteger();
+		when(menuCategoryRepository.findAllByRestaurantIdOrderBySortOrderAscIdAsc(1L)).thenAnswer(invocation -> {
+			reads.incrementAndGet();
+			reading.countDown();
+			release.await();
+			return List.of();
+		});
+
+		ExecutorService callers = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<MenuSnapshotCache.Snapshot>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(callers.submit(() -> cache.get(1L)));
+			}
+			reading.await();
+			Thread.sleep(200);
+			release.countDown();
+
+			MenuSnapshotCache.Snapshot first = results.get(0).get(5, TimeUnit.SECONDS);
+			for (Future<MenuSnapshotCache.Snapshot> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+			}
+			assertThat(reads).hasValue(1);
+		} finally {
+			callers.shutdownNow();
+		}
+	}
+
+	@Test
+	void expiredSnapshotIsReReadOnceAndServedMeanwhile() throws Exception {
+		MenuSnapshotCache cache = cache(0);
+		menu("Mains");
+		MenuSnapshotCache.Snapshot stale = cache.get(1L);
+
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger reads = new AtomicInteger();
+		MenuCategory desserts = new MenuCategory();
+		desserts.setId(2L);
+		desserts.setName("Desserts");
+		when(menuCategoryRepository.findAllByRestaurantIdOrderBySortOrderAscIdAsc(1L)).thenAnswer(invocation -> {
+			reads.incrementAndGet();
+			reading.countDown();
+			release.await();
+			return List.of(desserts);
+		});
+
+		ExecutorService refresher = Executors.newSingleThreadExecutor();
+		try {
+			Future<MenuSnapshotCache.Snapshot> refreshed = refresher.submit(() -> cache.get(1L));
+			reading.await();
+
+			// Written elsewhere; while one caller re-reads, the others get the old snapshot
+			for (int i = 0; i < 5; i++) {
+				assertThat(cache.get(1L)).isSameAs(stale);
+			}
+			release.countDown();
+
+			assertThat(new String(refreshed.get(5, TimeUnit.SECONDS).json())).contains("Desserts");
+			assertThat(reads).hasValue(1);
+			assertThat(versions.current(Resource.MENU, 1L)).isEqualTo(1);
+		} finally {
+			refresher.shutdownNow();
+		}
+	}
+
+}
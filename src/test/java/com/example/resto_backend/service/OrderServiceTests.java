@@ -0,0 +1,129 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.exception.IdempotencyKeyReusedException;
+import com.example.resto_backend.model.OrderStatus;
+import com.example.resto_backend.model.OrderView;
+import com.example.resto_backend.model.PlaceOrderRequest;
+import com.example.resto_backend.model.Role;
+import com.example.resto_backend.repository.OrderRepository;
+import com.example.resto_backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OrderServiceTests {
+
+	private static final AuthenticatedUser ALICE = new AuthenticatedUser("alice1", 1L, Role.STAFF);
+
+	private final OrderIntake orderIntake = mock(OrderIntake.class);
+
+	private final OrderService orderService = new OrderService(orderIntake, mock(OrderRepository.class), 100, 60_000, 1_000);
+
+	private long nextId = 1;
+
+	// Set to answer the next submit with an order that already holds the key in the database
+	private OrderView alreadyStored;
+
+	OrderServiceTests() {
+		doAnswer(invocation -> {
+			OrderIntake.Draft draft = invocation.getArgument(0);
+			if (alreadyStored != null) {
+				draft.result().complete(new OrderService.Placed(alreadyStored, true));
+				return null;
+			}
+			List<OrderView.Line> lines = draft.lines().stream()
+					.map(line -> new OrderView.Line(line.getMenuItemId(), "Item", BigDecimal.ONE, line.getQuantity(), "grill"))
+					.toList();
+			draft.result().complete(new OrderService.Placed(new OrderView(nextId++, OrderStatus.PLACED,
+					draft.placedBy(), draft.note(), BigDecimal.TEN, Instant.now(), lines), false));
+			return null;
+		}).when(orderIntake).submit(any());
+	}
+
+	@Test
+	void retryWithSameKeyReplaysTheOriginalOrder() {
+		OrderService.Placed first = orderService.place(ALICE, "key-1", request());
+		OrderService.Placed retry = orderService.place(ALICE, "key-1", request());
+
+		assertThat(first.replayed()).isFalse();
+		assertThat(retry.replayed()).isTrue();
+		assertThat(retry.order().id()).isEqualTo(first.order().id());
+		verify(orderIntake, times(1)).submit(any());
+	}
+
+	@Test
+	void keysAreScopedToTheRestaurant() {
+		AuthenticatedUser bob = new AuthenticatedUser("bob001", 2L, Role.STAFF);
+
+		OrderService.Placed alices = orderService.place(ALICE, "key-1", request());
+		OrderService.Placed bobs = orderService.place(bob, "key-1", request());
+
+		assertThat(bobs.replayed()).isFalse();
+		assertThat(bobs.order().id()).isNotEqualTo(alices.order().id());
+	}
+
+	@Test
+	void rejectedOrderReleasesItsKey() {
+		PlaceOrderRequest empty = new PlaceOrderRequest(List.of(), null);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> orderService.place(ALICE, "key-1", empty));
+
+		assertThat(orderService.place(ALICE, "key-1", request()).replayed()).isFalse();
+	}
+
+	@Test
+	void sameKeyWithDifferentPayloadIsRejected() {
+		orderService.place(ALICE, "key-1", request());
+
+		assertThatThrownBy(() -> orderService.place(ALICE, "key-1",
+				new PlaceOrderRequest(List.of(new PlaceOrderRequest.Line(1L, 3)), null)))
+				.isInstanceOf(IdempotencyKeyReusedException.class);
+		assertThatThrownBy(() -> orderService.place(ALICE, "key-1",
+				new PlaceOrderRequest(List.of(new PlaceOrderRequest.Line(1L, 2)), "no onions")))
+				.isInstanceOf(IdempotencyKeyReusedException.class);
+
+		// Line order does not matter
+		PlaceOrderRequest split = new PlaceOrderRequest(
+				List.of(new PlaceOrderRequest.Line(1L, 1), new PlaceOrderRequest.Line(1L, 1)), null);
+		assertThat(orderService.place(ALICE, "key-1", split).replayed()).isTrue();
+	}
+
+	@Test
+	void keyAlreadyStoredWithDifferentPayloadIsRejected() {
+		alreadyStored = new OrderView(99L, OrderStatus.PLACED, "alice1", null, BigDecimal.TEN, Instant.now(),
+				List.of(new OrderView.Line(7L, "Other", BigDecimal.ONE, 1, "bar")));
+
+		assertThatThrownBy(() -> orderService.place(ALICE, "key-1", request()))
+				.isInstanceOf(IdempotencyKeyReusedException.class);
+		assertThatThrownBy(() -> orderService.place(ALICE, "key-1", request()))
+				.isInstanceOf(IdempotencyKeyReusedException.class);
+		verify(orderIntake, times(1)).submit(any());
+	}
+
+	@Test
+	void keyAlreadyStoredWithSamePayloadIsReplayed() {
+		alreadyStored = new OrderView(99L, OrderStatus.PLACED, "alice1", null, BigDecimal.TEN, Instant.now(),
+				List.of(new OrderView.Line(1L, "Item", BigDecimal.ONE, 2, "grill")));
+
+		OrderService.Placed placed = orderService.place(ALICE, "key-1", request());
+
+		assertThat(placed.replayed()).isTrue();
+		assertThat(placed.order().id()).isEqualTo(99L);
+		assertThat(orderService.place(ALICE, "key-1", request()).replayed()).isTrue();
+	}
+
+	private static PlaceOrderRequest request() {
+		return new PlaceOrderRequest(List.of(new PlaceOrderRequest.Line(1L, 2)), null);
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.repository.RefreshTokenRepository;
+import com.example.resto_backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenWriteBehindTests {
+
+	private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	// Room for two queued changes and three attempts per change
+	private final RefreshTokenWriteBehind writeBehind = new RefreshTokenWriteBehind(refreshTokenRepository,
+			mock(UserRepository.class), mock(PlatformTransactionManager.class), 500, 2, 3, 10, 60_000, meterRegistry);
+
+	private final Instant expiry = Instant.now().plusSeconds(3600);
+
+	@Test
+	void failedDeleteIsRetriedBeforeNewerChanges() {
+		when(refreshTokenRepository.deleteSession(1L, "tablet"))
+				.thenThrow(new IllegalStateException("database down"))
+				.thenThrow(new IllegalStateException("database down"))
+				.thenReturn(1);
+
+		writeBehind.deleteSession(1L, "tablet");
+		writeBehind.flush();
+
+		writeBehind.saveSession(1L, "tablet", new byte[32], expiry, Instant.now());
+		writeBehind.flush();
+
+		InOrder order = inOrder(refreshTokenRepository);
+		order.verify(refreshTokenRepository, times(3)).deleteSession(1L, "tablet");
+		order.verify(refreshTokenRepository).updateSession(eq(1L), eq("tablet"), any(), any(), any());
+	}
+
+	@Test
+	void failedBatchFallsBackToSingleWrites() {
+		when(refreshTokenRepository.updateSession(eq(1L), eq("tablet"), any(), any(), any()))
+				.thenThrow(new DataIntegrityViolationException("user is gone"));
+
+		writeBehind.deleteSession(2L, "pos");
+		writeBehind.saveSession(1L, "tablet", new byte[32], expiry, Instant.now());
+		writeBehind.flush();
+		writeBehind.flush();
+
+		// The rejected save is dropped rather than retried; the delete still goes through
+		verify(refreshTokenRepository, times(2)).updateSession(eq(1L), eq("tablet"), any(), any(), any());
+		verify(refreshTokenRepository, times(2)).deleteSession(2L, "pos");
+		verify(refreshTokenRepository, times(1)).saveAll(anyList());
+	}
+
+	@Test
+	void changeThatKeepsFailingIsParkedAndNoLongerBlocksNewerOnes() {
+		when(refreshTokenRepository.deleteSession(1L, "tablet")).thenThrow(new IllegalStateException("bad row"));
+
+		writeBehind.deleteSession(1L, "tablet");
+		writeBehind.flush();
+		writeBehind.saveSession(2L, "pos", new byte[32], expiry, Instant.now());
+		writeBehind.flush();
+		writeBehind.flush();
+
+		// Three attempts, each a batch and a single write, then parked and the save goes through
+		verify(refreshTokenRepository, times(6)).deleteSession(1L, "tablet");
+		verify(refreshTokenRepository).updateSession(eq(2L), eq("pos"), any(), any(), any());
+		assertThat(backlog("parked")).isEqualTo(1);
+		assertThat(backlog("retrying")).isZero();
+	}
+
+	@Test
+	void parkedChangeIsForgottenOnceItsSessionIsWrittenAgain() {
+		when(refreshTokenRepository.deleteSession(1L, "tablet")).thenThrow(new IllegalStateException("bad row"));
+
+		writeBehind.deleteSession(1L, "tablet");
+		writeBehind.flush();
+		writeBehind.flush();
+		writeBehind.flush();
+		assertThat(backlog("parked")).isEqualTo(1);
+
+		writeBehind.saveSession(1L, "tablet", new byte[32], expiry, Instant.now());
+		writeBehind.flush();
+
+		assertThat(backlog("parked")).isZero();
+	}
+
+	@Test
+	void fullQueueIsFlushedByTheCaller() {
+		writeBehind.deleteSession(1L, "a");
+		writeBehind.deleteSession(1L, "b");
+		assertThat(backlog("queued")).isEqualTo(2);
+
+		writeBehind.deleteSession(1L, "c");
+
+		verify(refreshTokenRepository).deleteSession(1L, "a");
+		verify(refreshTokenRepository).deleteSession(1L, "b");
+		assertThat(backlog("queued")).isEqualTo(1);
+	}
+
+	private double backlog(String state) {
+		return meterRegistry.get("refresh_tokens.write_behind.backlog").tag("state", state).gauge().value();
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.service.ResourceVersions.Resource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionsTests {
+
+	private final ResourceVersions versions = new ResourceVersions();
+
+	@Test
+	void bumpChangesOnlyThatRestaurantsResource() {
+		String menu = versions.etag(Resource.MENU, 1L);
+		String restaurant = versions.etag(Resource.RESTAURANT, 1L);
+		String otherMenu = versions.etag(Resource.MENU, 2L);
+
+		assertThat(versions.bump(Resource.MENU, 1L)).isEqualTo(1);
+
+		assertThat(versions.etag(Resource.MENU, 1L)).isNotEqualTo(menu);
+		assertThat(versions.etag(Resource.RESTAURANT, 1L)).isEqualTo(restaurant);
+		assertThat(versions.etag(Resource.MENU, 2L)).isEqualTo(otherMenu);
+	}
+
+	@Test
+	void etagsAreStrongAndDistinctAcrossResources() {
+		String menu = versions.etag(Resource.MENU, 1L);
+
+		assertThat(menu).startsWith("\"").endsWith("\"");
+		assertThat(menu).isNotEqualTo(versions.etag(Resource.RESTAURANT, 1L));
+		assertThat(menu).isEqualTo(versions.etag(Resource.MENU, 1L, 0));
+	}
+}
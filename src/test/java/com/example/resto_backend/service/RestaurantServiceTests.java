@@ -0,0 +1,55 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.entity.Restaurant;
+import com.example.resto_backend.repository.RestaurantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RestaurantServiceTests {
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+	private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+
+	// Entries are due for a re-read after one millisecond
+	private final RestaurantService restaurantService = new RestaurantService(restaurantRepository,
+			new ResourceVersions(), mock(ApplicationEventPublisher.class), new SimpleMeterRegistry(), 100, 1);
+
+	@Test
+	void reReadPicksUpRenameMadeElsewhere() throws Exception {
+		stored("Bistro");
+		RestaurantService.Tagged first = restaurantService.findTagged(1L).orElseThrow();
+
+		// Renamed through another instance, so this one never bumped the version
+		stored("Brasserie");
+		Thread.sleep(10);
+		RestaurantService.Tagged renamed = restaurantService.findTagged(1L).orElseThrow();
+
+		assertThat(renamed.restaurant().getName()).isEqualTo("Brasserie");
+		assertThat(renamed.etag()).isNotEqualTo(first.etag());
+	}
+
+	@Test
+	void reReadOfUnchangedRowKeepsTheEtag() throws Exception {
+		stored("Bistro");
+		RestaurantService.Tagged first = restaurantService.findTagged(1L).orElseThrow();
+
+		stored("Bistro");
+		Thread.sleep(10);
+
+		assertThat(restaurantService.findTagged(1L).orElseThrow().etag()).isEqualTo(first.etag());
+	}
+
+	private void stored(String name) {
+		when(restaurantRepository.findById(1L))
+				.thenReturn(Optional.of(new Restaurant(1L, name, "owner01", CREATED_AT)));
+	}
+}
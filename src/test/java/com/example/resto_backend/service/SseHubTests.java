@@ -0,0 +1,105 @@
+package com.example.resto_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseHubTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	// Never drains, so every subscriber behaves like a stalled client
+	private final SseHub<Long> hub = new SseHub<>("test", 2, 100, 60_000, task -> { }, 60_000, 0, meterRegistry);
+
+	@Test
+	void evictsSubscriberWhoseBufferIsFull() {
+		hub.subscribe(1L, null);
+		hub.subscribe(2L, null);
+
+		hub.publish(1L, SseEmitter.event().data("a"));
+		hub.publish(1L, SseEmitter.event().data("b"));
+		assertThat(hub.hasSubscribers(1L)).isTrue();
+
+		hub.publish(1L, SseEmitter.event().data("c"));
+
+		assertThat(hub.hasSubscribers(1L)).isFalse();
+		assertThat(hub.hasSubscribers(2L)).isTrue();
+		assertThat(hub.subscriberCount()).isEqualTo(1);
+		assertThat(meterRegistry.get("sse.evicted").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void blockedWriteIsEvictedAndThePoolKeepsDelivering() throws Exception {
+		ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+		CountDownLatch unblock = new CountDownLatch(1);
+		CountDownLatch delivered = new CountDownLatch(1);
+
+		SseHub<Long> stallingHub = new SseHub<>("stalling", 8, 100, 60_000, sender, 50, 4, meterRegistry) {
+			private int created;
+
+			@Override
+			SseEmitter newEmitter(long timeoutMs) {
+				// The first subscriber never reads: its writes block until released
+				boolean stalls = created++ == 0;
+				return new SseEmitter(timeoutMs) {
+					@Override
+					public void send(Set<DataWithMediaType> items) throws IOException {
+						if (!stalls) {
+							delivered.countDown();
+							return;
+						}
+						try {
+							unblock.await(5, TimeUnit.SECONDS);
+						} catch (InterruptedException e) {
+							throw new IOException(e);
+						}
+					}
+				};
+			}
+		};
+		try {
+			stallingHub.subscribe(1L, null);
+			stallingHub.subscribe(2L, null);
+
+			stallingHub.publish(1L, SseEmitter.event().data("a"));
+			stallingHub.publish(2L, SseEmitter.event().data("b"));
+			Thread.sleep(100);
+			assertThat(delivered.getCount()).isEqualTo(1);
+
+			stallingHub.evictStalled();
+
+			assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(stallingHub.hasSubscribers(1L)).isFalse();
+			assertThat(stallingHub.hasSubscribers(2L)).isTrue();
+			assertThat(sender.getCorePoolSize()).isEqualTo(2);
+			assertThat(meterRegistry.get("sse.stalled").tag("hub", "stalling").counter().count()).isEqualTo(1);
+
+			unblock.countDown();
+			Thread.sleep(100);
+			assertThat(sender.getCorePoolSize()).isEqualTo(1);
+		} finally {
+			unblock.countDown();
+			sender.shutdownNow();
+		}
+	}
+
+	@Test
+	void heartbeatsCountAgainstTheBuffer() {
+		hub.subscribe(1L, () -> SseEmitter.event().name("ready").data(""));
+
+		hub.heartbeat();
+		hub.heartbeat();
+
+		assertThat(hub.hasSubscribers(1L)).isFalse();
+	}
+}
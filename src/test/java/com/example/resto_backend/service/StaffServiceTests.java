@@ -0,0 +1,51 @@
+package com.example.resto_backend.service;
+
+import com.example.resto_backend.model.StaffRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StaffServiceTests {
+
+	@Test
+	void parsesQuotedFieldsAndSkipsBlankLines() {
+		List<StaffRequest> rows = StaffService.parseCsv(
+				"Username,Password,Email\r\nwaiter01,\"se,cr\"\"et\",w1@gmail.com\n\n cook0001 ,secret1,c1@gmail.com\n");
+
+		assertThat(rows).hasSize(2);
+		assertThat(rows.get(0).getPassword()).isEqualTo("se,cr\"et");
+		assertThat(rows.get(1).getUsername()).isEqualTo("cook0001");
+	}
+
+	@Test
+	void rejectsWrongHeaderAndShortRows() {
+		assertThatThrownBy(() -> StaffService.parseCsv("user,pass,email\na,b,c"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> StaffService.parseCsv("username,password,email\nwaiter01,secret1"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Line 2");
+	}
+
+	@Test
+	void quotedFieldMayHoldLineBreaks() {
+		List<StaffRequest> rows = StaffService.parseCsv(
+				"username,password,email\nwaiter01,\"multi\r\nline\",w1@gmail.com\n");
+
+		assertThat(rows).hasSize(1);
+		assertThat(rows.get(0).getPassword()).isEqualTo("multi\r\nline");
+	}
+
+	@Test
+	void reportsTheLineARecordStartsOn() {
+		assertThatThrownBy(() -> StaffService.parseCsv(
+				"username,password,email\nwaiter01,\"a\nb\",w1@gmail.com\ncook0001,secret1"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Line 4");
+		assertThatThrownBy(() -> StaffService.parseCsv("username,password,email\nwaiter01,\"secret1,w1@gmail.com"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Line 2: unterminated");
+	}
+}
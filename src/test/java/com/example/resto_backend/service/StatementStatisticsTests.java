@@ -0,0 +1,67 @@
+package com.example.resto_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementStatisticsTests {
+
+	private static final String SELECT = "select * from orders where id = ?";
+	private static final String INSERT = "insert into orders (id) values (?)";
+
+	@Test
+	void countsExecutionsPerStatementAndSortsByTotalTime() {
+		StatementStatistics statistics = new StatementStatistics(new SimpleMeterRegistry(), 10_000, 0, 10, 100);
+
+		execute(statistics, SELECT, true);
+		execute(statistics, SELECT, true);
+		execute(statistics, INSERT, false);
+
+		List<StatementStatistics.Summary> summaries = statistics.summaries(10);
+		assertThat(summaries).extracting(StatementStatistics.Summary::sql).containsExactlyInAnyOrder(SELECT, INSERT);
+		assertThat(summaries.get(0).totalMs()).isGreaterThanOrEqualTo(summaries.get(1).totalMs());
+
+		StatementStatistics.Summary select = summaries.stream().filter(s -> s.sql().equals(SELECT)).findFirst().orElseThrow();
+		assertThat(select.count()).isEqualTo(2);
+		assertThat(select.failures()).isZero();
+
+		statistics.reset();
+		assertThat(statistics.summaries(10)).isEmpty();
+	}
+
+	@Test
+	void poolsStatementsBeyondTheLimit() {
+		StatementStatistics statistics = new StatementStatistics(new SimpleMeterRegistry(), 10_000, 0, 10, 1);
+
+		execute(statistics, SELECT, true);
+		execute(statistics, INSERT, true);
+		execute(statistics, "delete from orders", true);
+
+		assertThat(statistics.summaries(10)).hasSize(2);
+	}
+
+	@Test
+	void dropsLogEntriesWhenTheQueueIsFull() {
+		// Threshold 0 makes every statement slow; the writer thread is not started
+		StatementStatistics statistics = new StatementStatistics(new SimpleMeterRegistry(), 0, 0, 1, 100);
+
+		execute(statistics, SELECT, true);
+		execute(statistics, SELECT, true);
+
+		assertThat(statistics.droppedLogEntries()).isEqualTo(1);
+	}
+
+	private static void execute(StatementStatistics statistics, String sql, boolean success) {
+		ExecutionInfo execution = new ExecutionInfo();
+		execution.setSuccess(success);
+		List<QueryInfo> queries = List.of(new QueryInfo(sql));
+
+		statistics.beforeQuery(execution, queries);
+		statistics.afterQuery(execution, queries);
+	}
+}